@@ -0,0 +1,146 @@
+package com.devbuild.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Verifies HS256 tokens issued by user-service.
+ * <p>
+ * The key and the parser are built once. A verified token is cached under the SHA-256 of
+ * its compact form until its {@code exp}, so a token presented again skips signature
+ * verification and claim parsing. The cache is bounded; a token that fails verification
+ * is never cached.
+ */
+public class JwtTokenVerifier {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+    private final Clock clock;
+
+    public JwtTokenVerifier(String secret, long maxCachedTokens) {
+        this(secret, maxCachedTokens, Clock.systemUTC());
+    }
+
+    JwtTokenVerifier(String secret, long maxCachedTokens, Clock clock) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalStateException("jwt.secret must be configured!");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).clock(() -> Date.from(clock.instant())).build();
+        this.clock = clock;
+        this.cache = maxCachedTokens > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxCachedTokens)
+                        .expireAfter(new UntilTokenExpiry(clock))
+                        .build()
+                : null;
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (cache == null) {
+            return parse(token);
+        }
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        // Expiry is also checked here: the cache evicts lazily
+        if (cached != null && clock.instant().isBefore(cached.expiresAt())) {
+            return cached;
+        }
+        VerifiedToken verified = parse(token);
+        if (verified.expiresAt() != null) {
+            cache.put(digest, verified);
+        }
+        return verified;
+    }
+
+    public long cachedTokens() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        Object userId = claims.get("userId");
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                userId != null ? String.valueOf(userId) : null,
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("nom", String.class),
+                claims.get("prenom", String.class),
+                authorities(claims),
+                expiration != null ? expiration.toInstant() : null
+        );
+    }
+
+    // Accepts "roles" (list), "role" (string) or "authorities" (list), as the services used to
+    private static List<GrantedAuthority> authorities(Claims claims) {
+        Object roles = claims.get("roles");
+        if (roles instanceof Collection<?> list && !list.isEmpty()) {
+            return RoleAuthorities.of(list);
+        }
+        Object role = claims.get("role");
+        if (role instanceof String single) {
+            return RoleAuthorities.of(single);
+        }
+        Object authorities = claims.get("authorities");
+        if (authorities instanceof Collection<?> list) {
+            return RoleAuthorities.of(list);
+        }
+        return List.of();
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private record UntilTokenExpiry(Clock clock) implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long nanos = Duration.between(clock.instant(), token.expiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
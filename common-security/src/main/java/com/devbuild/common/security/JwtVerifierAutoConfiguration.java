@@ -0,0 +1,23 @@
+package com.devbuild.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers a {@link JwtTokenVerifier} in every service that depends on this module
+ * and defines {@code jwt.secret}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty("jwt.secret")
+public class JwtVerifierAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtTokenVerifier jwtTokenVerifier(@Value("${jwt.secret}") String secret,
+                                             @Value("${jwt.verifier.cache-size:10000}") long cacheSize) {
+        return new JwtTokenVerifier(secret, cacheSize);
+    }
+}
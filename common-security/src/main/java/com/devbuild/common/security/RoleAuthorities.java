@@ -0,0 +1,51 @@
+package com.devbuild.common.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned authorities: a role claim such as "ADMIN" always maps to the same
+ * immutable {@code List.of(ROLE_ADMIN)} instance, so no per-request allocation.
+ */
+public final class RoleAuthorities {
+
+    private static final String PREFIX = "ROLE_";
+
+    private static final Map<String, List<GrantedAuthority>> SINGLE_ROLE = new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(String role) {
+        if (role == null || role.isBlank()) {
+            return List.of();
+        }
+        return SINGLE_ROLE.computeIfAbsent(role, raw -> List.of(new SimpleGrantedAuthority(normalize(raw))));
+    }
+
+    public static List<GrantedAuthority> of(Collection<?> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return List.of();
+        }
+        if (roles.size() == 1) {
+            return of(String.valueOf(roles.iterator().next()));
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            authorities.addAll(of(String.valueOf(role)));
+        }
+        return List.copyOf(authorities);
+    }
+
+    private static String normalize(String role) {
+        String upper = role.trim().toUpperCase(Locale.ROOT);
+        return upper.startsWith(PREFIX) ? upper : PREFIX + upper;
+    }
+}
@@ -0,0 +1,25 @@
+package com.devbuild.common.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ * Instances are immutable and shared between requests presenting the same token.
+ */
+public record VerifiedToken(
+        String userId,
+        String subject,
+        String email,
+        String nom,
+        String prenom,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt
+) {
+
+    public boolean hasAuthorities() {
+        return !authorities.isEmpty();
+    }
+}
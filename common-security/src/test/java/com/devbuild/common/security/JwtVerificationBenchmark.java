@@ -0,0 +1,114 @@
+package com.devbuild.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request cost of verifying a user-service token.
+ * <ul>
+ *     <li>{@code legacyFilter}: what the filters did before, key and parser built per request</li>
+ *     <li>{@code verifierUncached}: precomputed key and parser, interned authorities</li>
+ *     <li>{@code verifierCached}: same token presented again, served from the digest cache</li>
+ * </ul>
+ * Not a unit test: run {@link #main} after {@code mvn -pl common-security test-compile},
+ * with the test classpath, and compare the average times (add {@code -prof gc} for allocations).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private String token;
+    private JwtTokenVerifier uncached;
+    private JwtTokenVerifier cached;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = Jwts.builder()
+                .claims(Map.of(
+                        "role", "DOCTORANT",
+                        "email", "doctorant@example.org",
+                        "nom", "Nom",
+                        "prenom", "Prenom",
+                        "userId", 42))
+                .subject("doctorant@example.org")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+
+        uncached = new JwtTokenVerifier(SECRET, 0);
+        cached = new JwtTokenVerifier(SECRET, 10_000);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public Object legacyFilter() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        List<String> rawRoles = new ArrayList<>();
+        if (claims.get("role") instanceof String role) {
+            rawRoles.add(role);
+        }
+        return rawRoles.stream()
+                .map(r -> {
+                    String roleName = r.toUpperCase();
+                    if (!roleName.startsWith("ROLE_")) {
+                        roleName = "ROLE_" + roleName;
+                    }
+                    return new SimpleGrantedAuthority(roleName);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public VerifiedToken verifierUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifierCached() {
+        return cached.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
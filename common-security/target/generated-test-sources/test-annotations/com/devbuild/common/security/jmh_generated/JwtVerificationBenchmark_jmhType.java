@@ -0,0 +1,4 @@
+package com.devbuild.common.security.jmh_generated;
+public class JwtVerificationBenchmark_jmhType extends JwtVerificationBenchmark_jmhType_B3 {
+}
+
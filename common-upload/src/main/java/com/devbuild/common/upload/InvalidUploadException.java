@@ -0,0 +1,11 @@
+package com.devbuild.common.upload;
+
+/**
+ * Session ou fragment refusé : fichier trop gros, type non autorisé, envoi incomplet...
+ */
+public class InvalidUploadException extends RuntimeException {
+
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package com.devbuild.common.upload;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Fichier reçu par une session d'upload, présenté comme une pièce multipart pour
+ * passer par la même chaîne d'ingestion que les fichiers envoyés directement.
+ * Contrairement à une pièce multipart, {@link #transferTo(Path)} ne déplace pas le
+ * fichier de la session : il reste en place jusqu'au commit de
+ * {@link UploadSessionService#consume}, pour qu'une soumission échouée puisse être
+ * rejouée avec le même identifiant.
+ */
+public class StagedMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+
+    public StagedMultipartFile(Path path, String filename, String contentType, long size) {
+        this.path = path;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return filename;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.deleteIfExists(dest);
+        try {
+            // A hard link costs no copy; deleting the destination on rollback leaves the session file intact
+            Files.createLink(dest, path);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Different file systems, or no hard link support: copy instead
+            Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.devbuild.common.upload;
+
+public enum StatutUpload {
+
+    EN_COURS("Envoi en cours"),
+    TERMINE("Envoi terminé"),
+    UTILISE("Fichier rattaché à une soumission");
+
+    private final String description;
+
+    StatutUpload(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
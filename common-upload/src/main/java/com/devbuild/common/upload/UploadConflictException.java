@@ -0,0 +1,19 @@
+package com.devbuild.common.upload;
+
+/**
+ * Fragment envoyé à un offset qui ne correspond pas à la progression de la session.
+ * {@code expectedOffset} indique au client où reprendre.
+ */
+public class UploadConflictException extends RuntimeException {
+
+    private final long expectedOffset;
+
+    public UploadConflictException(String message, long expectedOffset) {
+        super(message);
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
@@ -0,0 +1,11 @@
+package com.devbuild.common.upload;
+
+/**
+ * Session inconnue, expirée ou appartenant à un autre utilisateur.
+ */
+public class UploadNotFoundException extends RuntimeException {
+
+    public UploadNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devbuild.common.upload;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Limits applied to the upload sessions of a service. Declaring this bean is what
+ * enables {@link UploadSessionService} in that service.
+ *
+ * @param stagingDir          directory holding the partial files
+ * @param maxSize             largest accepted file, in bytes
+ * @param sessionTtl          sessions untouched for longer are purged with their file
+ * @param allowedContentTypes content types a client may announce
+ */
+public record UploadPolicy(String stagingDir, long maxSize, Duration sessionTtl, Set<String> allowedContentTypes) {
+}
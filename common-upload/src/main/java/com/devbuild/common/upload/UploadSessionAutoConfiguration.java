@@ -0,0 +1,28 @@
+package com.devbuild.common.upload;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers {@link UploadSessionService} in every service that depends on this module
+ * and declares an {@link UploadPolicy}. The package is added to the auto-configuration
+ * packages, so {@link UploadSession} and its repository are picked up by the service's
+ * own JPA setup.
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@AutoConfigurationPackage
+@ConditionalOnBean(UploadPolicy.class)
+public class UploadSessionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UploadSessionService uploadSessionService(UploadSessionRepository uploadSessionRepository,
+                                                     UploadPolicy uploadPolicy) {
+        return new UploadSessionService(uploadSessionRepository, uploadPolicy);
+    }
+}
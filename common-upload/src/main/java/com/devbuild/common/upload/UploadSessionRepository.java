@@ -0,0 +1,16 @@
+package com.devbuild.common.upload;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    Optional<UploadSession> findByIdAndOwnerId(String id, Long ownerId);
+
+    List<UploadSession> findByUpdatedAtBefore(LocalDateTime before);
+}
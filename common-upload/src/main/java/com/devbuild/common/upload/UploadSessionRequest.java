@@ -0,0 +1,27 @@
+package com.devbuild.common.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionRequest {
+
+    @NotBlank(message = "Le nom du fichier est obligatoire")
+    @Size(max = 200, message = "Le nom du fichier ne peut pas dépasser 200 caractères")
+    private String filename;
+
+    @NotNull(message = "La taille du fichier est obligatoire")
+    @Positive(message = "La taille du fichier doit être positive")
+    private Long totalSize;
+
+    private String contentType;
+}
@@ -0,0 +1,33 @@
+package com.devbuild.common.upload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+
+    private String id;
+    private String filename;
+    private Long totalSize;
+    private Long receivedBytes;
+    private StatutUpload statut;
+    private LocalDateTime updatedAt;
+
+    public static UploadSessionResponse fromEntity(UploadSession session) {
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .filename(session.getFilename())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .statut(session.getStatut())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.devbuild.common.upload;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sessions d'upload reprenables : le client crée une session, envoie le fichier par
+ * fragments (PUT à un offset donné), consulte la progression, puis finalise.
+ * Chaque fragment est écrit directement dans le fichier de transit avec un tampon
+ * fixe de 64 Ko, quelle que soit la taille du fichier.
+ * <p>
+ * Partagé par les services d'inscription et de soutenance, chacun avec sa propre
+ * {@link UploadPolicy} ; enregistré par {@link UploadSessionAutoConfiguration}.
+ */
+@Slf4j
+public class UploadSessionService {
+
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final UploadPolicy policy;
+    private final Path stagingLocation;
+    private final Map<String, ReentrantLock> sessionLocks = new ConcurrentHashMap<>();
+
+    public UploadSessionService(UploadSessionRepository uploadSessionRepository, UploadPolicy policy) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.policy = policy;
+        this.stagingLocation = Paths.get(policy.stagingDir())
+                .toAbsolutePath().normalize();
+
+        try {
+            Files.createDirectories(this.stagingLocation);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create staging directory!", ex);
+        }
+    }
+
+    public UploadSessionResponse createSession(UploadSessionRequest request, Long ownerId) {
+        if (!StringUtils.hasText(request.getFilename())) {
+            throw new InvalidUploadException("Le nom du fichier est obligatoire");
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0) {
+            throw new InvalidUploadException("La taille du fichier doit être positive");
+        }
+        long maxSize = policy.maxSize();
+        if (request.getTotalSize() > maxSize) {
+            throw new InvalidUploadException(String.format(
+                    "Le fichier dépasse la taille maximale autorisée de %d MB", maxSize / (1024 * 1024)));
+        }
+        if (request.getContentType() == null || !policy.allowedContentTypes().contains(request.getContentType())) {
+            throw new InvalidUploadException("Type de fichier non supporté");
+        }
+
+        String filename = StringUtils.cleanPath(request.getFilename());
+        if (filename.contains("..")) {
+            throw new InvalidUploadException("Le nom du fichier contient une séquence de chemin invalide: " + filename);
+        }
+
+        String id = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = UploadSession.builder()
+                .id(id)
+                .ownerId(ownerId)
+                .filename(filename)
+                .contentType(request.getContentType())
+                .totalSize(request.getTotalSize())
+                .receivedBytes(0L)
+                .statut(StatutUpload.EN_COURS)
+                .stagingPath(id + ".part")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        log.info("Upload session created: id={}, owner={}, size={}", id, ownerId, request.getTotalSize());
+        return UploadSessionResponse.fromEntity(uploadSessionRepository.save(session));
+    }
+
+    /**
+     * Ajoute un fragment à la session. L'offset doit être égal au nombre d'octets déjà reçus ;
+     * sinon le client reçoit un 409 avec l'offset attendu. Si la connexion tombe au milieu
+     * du fragment, les octets déjà écrits restent acquis et l'envoi reprend à partir d'eux.
+     */
+    public UploadSessionResponse appendChunk(String uploadId, Long ownerId, long offset, InputStream body)
+            throws IOException {
+        ReentrantLock lock = sessionLocks.computeIfAbsent(uploadId, key -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            UploadSession session = getOwnedSession(uploadId, ownerId);
+            throw new UploadConflictException(
+                    "Un autre fragment est en cours d'envoi pour cette session", session.getReceivedBytes());
+        }
+        try {
+            UploadSession session = getOwnedSession(uploadId, ownerId);
+            if (session.getStatut() != StatutUpload.EN_COURS) {
+                throw new UploadConflictException("La session d'upload est déjà finalisée", session.getReceivedBytes());
+            }
+            if (offset != session.getReceivedBytes()) {
+                throw new UploadConflictException(String.format(
+                        "Offset invalide: %d, attendu: %d", offset, session.getReceivedBytes()),
+                        session.getReceivedBytes());
+            }
+
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(stagingPath(session),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Drop any bytes past the acknowledged offset left by an interrupted chunk
+                channel.truncate(offset);
+                channel.position(offset);
+
+                ReadableByteChannel in = Channels.newChannel(body);
+                ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+                long remaining = session.getTotalSize() - offset;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (read > remaining - written) {
+                        throw new InvalidUploadException(
+                                "Le fragment dépasse la taille annoncée du fichier (" + session.getTotalSize() + " octets)");
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                    written += read;
+                }
+            } finally {
+                session.setReceivedBytes(offset + written);
+                session.setUpdatedAt(LocalDateTime.now());
+                uploadSessionRepository.save(session);
+            }
+
+            log.debug("Chunk appended: upload={}, offset={}, bytes={}", uploadId, offset, written);
+            return UploadSessionResponse.fromEntity(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public UploadSessionResponse getProgress(String uploadId, Long ownerId) {
+        return UploadSessionResponse.fromEntity(getOwnedSession(uploadId, ownerId));
+    }
+
+    public UploadSessionResponse complete(String uploadId, Long ownerId) {
+        UploadSession session = getOwnedSession(uploadId, ownerId);
+        if (session.getStatut() != StatutUpload.EN_COURS) {
+            return UploadSessionResponse.fromEntity(session);
+        }
+        if (!session.getReceivedBytes().equals(session.getTotalSize())) {
+            throw new InvalidUploadException(String.format(
+                    "Upload incomplet: %d octets reçus sur %d", session.getReceivedBytes(), session.getTotalSize()));
+        }
+
+        session.setStatut(StatutUpload.TERMINE);
+        session.setUpdatedAt(LocalDateTime.now());
+        sessionLocks.remove(uploadId);
+        log.info("Upload session completed: id={}, size={}", uploadId, session.getTotalSize());
+        return UploadSessionResponse.fromEntity(uploadSessionRepository.save(session));
+    }
+
+    /**
+     * Fichier d'une session terminée, à ingérer lors de la soumission (dossier ou demande).
+     */
+    public MultipartFile openCompleted(String uploadId, Long ownerId) {
+        UploadSession session = getOwnedSession(uploadId, ownerId);
+        if (session.getStatut() != StatutUpload.TERMINE) {
+            throw new InvalidUploadException("La session d'upload " + uploadId + " n'est pas finalisée");
+        }
+        return new StagedMultipartFile(stagingPath(session), session.getFilename(),
+                session.getContentType(), session.getTotalSize());
+    }
+
+    /**
+     * Marque les sessions comme utilisées dans la transaction de l'appelant ;
+     * les fichiers de transit sont supprimés après commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consume(Collection<String> uploadIds, Long ownerId) {
+        for (String uploadId : uploadIds) {
+            UploadSession session = getOwnedSession(uploadId, ownerId);
+            session.setStatut(StatutUpload.UTILISE);
+            session.setUpdatedAt(LocalDateTime.now());
+            uploadSessionRepository.save(session);
+
+            Path staging = stagingPath(session);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteQuietly(staging);
+                }
+            });
+        }
+    }
+
+    @Scheduled(cron = "${upload.purge-cron:0 0 * * * *}")
+    public void purgeExpiredSessions() {
+        LocalDateTime before = LocalDateTime.now().minus(policy.sessionTtl());
+        int purged = 0;
+        for (UploadSession session : uploadSessionRepository.findByUpdatedAtBefore(before)) {
+            deleteQuietly(stagingPath(session));
+            uploadSessionRepository.delete(session);
+            sessionLocks.remove(session.getId());
+            purged++;
+        }
+        if (purged > 0) {
+            log.info("🧹 Purged {} expired upload sessions", purged);
+        }
+    }
+
+    private UploadSession getOwnedSession(String uploadId, Long ownerId) {
+        return uploadSessionRepository.findByIdAndOwnerId(uploadId, ownerId)
+                .orElseThrow(() -> new UploadNotFoundException("Session d'upload non trouvée: " + uploadId));
+    }
+
+    private Path stagingPath(UploadSession session) {
+        return stagingLocation.resolve(session.getStagingPath()).normalize();
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Failed to delete staging file {}: {}", path, e.getMessage());
+        }
+    }
+}
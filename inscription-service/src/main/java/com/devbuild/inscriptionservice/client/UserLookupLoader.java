@@ -0,0 +1,54 @@
+package com.devbuild.inscriptionservice.client;
+
+import com.devbuild.inscriptionservice.domain.dto.response.UserResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collecte les IDs utilisateurs nécessaires à une réponse HTTP puis les résout
+ * en un seul appel batch vers user-service. Les profils déjà chargés restent
+ * disponibles pour le reste de la requête.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+@Slf4j
+public class UserLookupLoader {
+
+    private final UserServiceClient userServiceClient;
+
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final Map<Long, UserResponse> loaded = new HashMap<>();
+
+    public UserLookupLoader request(Long userId) {
+        if (userId != null && !loaded.containsKey(userId)) {
+            pending.add(userId);
+        }
+        return this;
+    }
+
+    public void load() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.debug("Resolving {} pending user ids in one batch", pending.size());
+        Map<Long, UserResponse> users = userServiceClient.getUsersByIds(pending);
+        // Mark every requested id as resolved, even those user-service did not return
+        pending.forEach(id -> loaded.put(id, users.get(id)));
+        pending.clear();
+    }
+
+    public UserResponse get(Long userId) {
+        if (userId != null && pending.contains(userId)) {
+            load();
+        }
+        return loaded.get(userId);
+    }
+}
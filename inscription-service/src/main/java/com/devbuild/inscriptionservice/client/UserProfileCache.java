@@ -0,0 +1,102 @@
+package com.devbuild.inscriptionservice.client;
+
+import com.devbuild.inscriptionservice.domain.dto.response.UserResponse;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache local des profils utilisateurs devant UserServiceFeignClient.
+ * <p>
+ * Les entrées sont rafraîchies en arrière-plan après {@code refresh-after} :
+ * l'appelant reçoit immédiatement le dernier profil connu, même si user-service
+ * est lent ou indisponible. Les évènements {@code user-changed} évincent l'entrée.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    private static final String CACHE_NAME = "user-profiles";
+
+    private final UserServiceFeignClient userServiceFeignClient;
+    private final LoadingCache<Long, UserResponse> cache;
+    private final Counter invalidations;
+
+    public UserProfileCache(UserServiceFeignClient userServiceFeignClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${user-cache.refresh-after:PT5M}") Duration refreshAfter,
+                            @Value("${user-cache.expire-after:PT12H}") Duration expireAfter) {
+        this.userServiceFeignClient = userServiceFeignClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(new UserProfileLoader());
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Entries evicted by user-changed events")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserResponse get(Long userId) {
+        return cache.get(userId);
+    }
+
+    public UserResponse getIfPresent(Long userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    public Map<Long, UserResponse> getAll(Collection<Long> userIds) {
+        return cache.getAll(userIds);
+    }
+
+    public void put(UserResponse user) {
+        if (user != null && user.getId() != null) {
+            cache.put(user.getId(), user);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+            invalidations.increment();
+        }
+    }
+
+    private class UserProfileLoader implements CacheLoader<Long, UserResponse> {
+
+        @Override
+        public UserResponse load(Long userId) {
+            log.debug("🌐 Loading user via Feign: {}", userId);
+            return userServiceFeignClient.getUserById(userId);
+        }
+
+        @Override
+        public Map<Long, UserResponse> loadAll(Set<? extends Long> userIds) {
+            log.debug("🌐 Loading {} users via Feign batch", userIds.size());
+            Map<Long, UserResponse> users = new HashMap<>();
+            List<UserResponse> responses = userServiceFeignClient.getUsersByIds(List.copyOf(userIds));
+            if (responses != null) {
+                responses.forEach(user -> users.put(user.getId(), user));
+            }
+            return users;
+        }
+    }
+}
@@ -5,18 +5,32 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
     private final UserServiceFeignClient userServiceFeignClient;
+    private final UserProfileCache userProfileCache;
 
     // Removed 'authToken' parameter
     public UserResponse validateUserRole(Long userId, String expectedRole) {
+        UserResponse cached = userProfileCache.getIfPresent(userId);
+        if (cached != null && expectedRole.equalsIgnoreCase(cached.getRole())) {
+            log.debug("✅ User role validated from cache: userId={}, role={}", userId, expectedRole);
+            return cached;
+        }
+
+        // Cache miss or role mismatch: user-service stays the authority
         try {
             log.info("🔍 Validating user role via Feign: userId={}, expectedRole={}", userId, expectedRole);
-            return userServiceFeignClient.validateUserRole(userId, expectedRole);
+            UserResponse user = userServiceFeignClient.validateUserRole(userId, expectedRole);
+            userProfileCache.put(user);
+            return user;
         } catch (Exception e) {
             log.error("Call to User Service failed", e);
             throw new RuntimeException("Service Utilisateur indisponible: " + e.getMessage());
@@ -26,8 +40,7 @@ public class UserServiceClient {
     // Removed 'authToken' parameter
     public UserResponse getUserById(Long userId) {
         try {
-            log.debug("🌐 Fetching user via Feign: {}", userId);
-            return userServiceFeignClient.getUserById(userId);
+            return userProfileCache.get(userId);
         } catch (Exception e) {
             // We return null here so we don't crash the whole response if just the name is missing
             log.error("❌ Error fetching user {}: {}", userId, e.getMessage());
@@ -35,6 +48,20 @@ public class UserServiceClient {
         }
     }
 
+    public Map<Long, UserResponse> getUsersByIds(Collection<Long> userIds) {
+        Map<Long, UserResponse> users = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return users;
+        }
+        try {
+            users.putAll(userProfileCache.getAll(userIds));
+        } catch (Exception e) {
+            // Same policy as getUserById: missing names must not break the response
+            log.error("❌ Error fetching users {}: {}", userIds, e.getMessage());
+        }
+        return users;
+    }
+
     public String getUserEmail(Long userId) {
         try {
             UserResponse user = getUserById(userId);
@@ -46,12 +73,15 @@ public class UserServiceClient {
 
     public String getUserFullName(Long userId) {
         try {
-            UserResponse user = getUserById(userId);
-            if (user == null) return null;
-            return (user.getPrenom() != null ? user.getPrenom() : "") + " " +
-                    (user.getNom() != null ? user.getNom() : "");
+            return fullName(getUserById(userId));
         } catch (Exception e) {
             return null;
         }
     }
+
+    public static String fullName(UserResponse user) {
+        if (user == null) return null;
+        return (user.getPrenom() != null ? user.getPrenom() : "") + " " +
+                (user.getNom() != null ? user.getNom() : "");
+    }
 }
\ No newline at end of file
@@ -7,6 +7,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
 @FeignClient(name = "user-service", configuration = FeignClientConfig.class)
 public interface UserServiceFeignClient {
 
@@ -16,4 +19,7 @@ public interface UserServiceFeignClient {
 
     @GetMapping("/api/users/id/{userId}") 
     UserResponse getUserById(@PathVariable("userId") Long userId);
+
+    @GetMapping("/api/users/batch")
+    List<UserResponse> getUsersByIds(@RequestParam("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -14,6 +15,8 @@ public class FileStorageProperties {
     private Duree duree = new Duree();
     private File file = new File();
     private Storage storage = new Storage();
+    private Upload upload = new Upload();
+    private Search search = new Search();
 
     @Data
     public static class Duree {
@@ -31,4 +34,16 @@ public class FileStorageProperties {
     public static class Storage {
         private String path = "./uploads/dossiers";
     }
+
+    @Data
+    public static class Upload {
+        private String stagingPath = "./uploads/staging";
+        private Duration sessionTtl = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Search {
+        private String indexPath = "./data/search-index";
+        private int rebuildBatchSize = 500;
+    }
 }
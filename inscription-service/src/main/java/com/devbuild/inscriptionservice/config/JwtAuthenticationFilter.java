@@ -1,34 +1,29 @@
 package com.devbuild.inscriptionservice.config;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.devbuild.common.security.JwtTokenVerifier;
+import com.devbuild.common.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Precomputed key/parser and verified-token cache, shared with the other services
+    private final JwtTokenVerifier jwtTokenVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -43,54 +38,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            String token = authHeader.substring(7);
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            // 1. Extract User ID (Handles Integer or String)
-            String userId = String.valueOf(claims.get("userId"));
-            String email = claims.getSubject();
-
-            // 2. Extract Roles (Handles "role" String OR "roles" List)
-            List<String> rawRoles = new ArrayList<>();
-
-            // Check for "roles" (List)
-            if (claims.get("roles") instanceof List) {
-                rawRoles.addAll((List<String>) claims.get("roles"));
-            }
-            // Check for "role" (String) - THIS IS YOUR CURRENT CASE
-            else if (claims.get("role") instanceof String) {
-                rawRoles.add((String) claims.get("role"));
-            }
-
-            if (!rawRoles.isEmpty()) {
-                // 3. Normalize Roles (Add ROLE_ prefix if missing)
-                List<SimpleGrantedAuthority> authorities = rawRoles.stream()
-                        .map(r -> {
-                            String roleName = r.toUpperCase();
-                            if (!roleName.startsWith("ROLE_")) {
-                                roleName = "ROLE_" + roleName;
-                            }
-                            return new SimpleGrantedAuthority(roleName);
-                        })
-                        .collect(Collectors.toList());
+            VerifiedToken token = jwtTokenVerifier.verify(authHeader.substring(7));
 
+            if (token.userId() != null && token.hasAuthorities()) {
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
+                        new UsernamePasswordAuthenticationToken(token.userId(), null, token.authorities());
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                log.debug("User Authenticated: {} with roles {}", email, authorities);
+                log.debug("User Authenticated: {} with roles {}", token.subject(), token.authorities());
             } else {
-                log.warn("Token valid but NO roles found for user: {}", email);
+                log.warn("Token valid but userId or roles missing for user: {}", token.subject());
             }
 
+        } catch (JwtException e) {
+            log.error("JWT validation failed: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Could not set user authentication: {}", e.getMessage());
         }
@@ -103,4 +66,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         return path.startsWith("/actuator/") || path.equals("/error");
     }
-}
\ No newline at end of file
+}
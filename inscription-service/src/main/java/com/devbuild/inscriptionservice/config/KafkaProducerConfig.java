@@ -1,16 +1,16 @@
 package com.devbuild.inscriptionservice.config;
 
-
-import com.devbuild.inscriptionservice.kafka.event.DossierStatusChangedEvent;
+import com.devbuild.inscriptionservice.kafka.producer.DossierEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,23 +21,45 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${inscription.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${inscription.kafka.replicas:1}")
+    private short replicas;
+
+    /**
+     * Topics produced here are declared here: the partition count of a keyed
+     * topic is its owner's decision, consumers only subscribe.
+     */
     @Bean
-    public ProducerFactory<String, DossierStatusChangedEvent> producerFactory() {
+    public NewTopic dossierStatusChangedTopic() {
+        return TopicBuilder.name(DossierEventProducer.TOPIC).partitions(partitions).replicas(replicas).build();
+    }
+
+    // Used by OutboxRelay only: payloads are already serialized to JSON in the outbox
+    @Bean
+    public ProducerFactory<String, String> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+
+        // Idempotent producer: retries never duplicate or reorder records of a partition
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
 
-        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 2000);
-        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 2000);
-        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 3000);
+        // Off the request path now, so we can afford to wait for the broker
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 5000);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 10000);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, DossierStatusChangedEvent> kafkaTemplate() {
+    public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 }
@@ -0,0 +1,21 @@
+package com.devbuild.inscriptionservice.config;
+
+import com.devbuild.common.upload.UploadPolicy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class UploadConfig {
+
+    // Same limits as the multipart parts (see FileStorageService)
+    @Bean
+    public UploadPolicy uploadPolicy(FileStorageProperties properties) {
+        return new UploadPolicy(
+                properties.getUpload().getStagingPath(),
+                properties.getFile().getMaxSize(),
+                properties.getUpload().getSessionTtl(),
+                Set.of("application/pdf", "image/jpeg", "image/png"));
+    }
+}
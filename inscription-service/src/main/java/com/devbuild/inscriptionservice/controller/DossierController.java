@@ -3,14 +3,26 @@ package com.devbuild.inscriptionservice.controller;
 
 import com.devbuild.inscriptionservice.domain.dto.request.DossierSubmissionRequest;
 import com.devbuild.inscriptionservice.domain.dto.response.ApiResponse;
+import com.devbuild.inscriptionservice.domain.dto.response.CursorPage;
 import com.devbuild.inscriptionservice.domain.dto.response.DossierResponse;
+import com.devbuild.inscriptionservice.domain.dto.response.DossierSearchHit;
+import com.devbuild.inscriptionservice.domain.dto.response.InscriptionDateResponse;
+import com.devbuild.inscriptionservice.domain.dto.response.SearchPage;
+import com.devbuild.inscriptionservice.domain.enums.ExportFormat;
+import com.devbuild.inscriptionservice.domain.enums.StatutDossier;
 import com.devbuild.inscriptionservice.domain.enums.TypeDocument;
+import com.devbuild.inscriptionservice.service.CampagneService;
+import com.devbuild.inscriptionservice.service.DocumentDownloadService;
+import com.devbuild.inscriptionservice.service.DossierSearchIndex;
+import com.devbuild.inscriptionservice.service.DossierExportService;
 import com.devbuild.inscriptionservice.service.DossierService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +31,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +46,10 @@ import java.util.Map;
 public class DossierController {
 
     private final DossierService dossierService;
+    private final DossierExportService dossierExportService;
+    private final DocumentDownloadService documentDownloadService;
+    private final CampagneService campagneService;
+    private final DossierSearchIndex dossierSearchIndex;
 
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -84,6 +102,21 @@ public class DossierController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/{id}/documents/{documentId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DIRECTEUR', 'DOCTORANT')")
+    public void downloadDocument(
+            @PathVariable Long id,
+            @PathVariable Long documentId,
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("Downloading document: dossierId={}, documentId={}", id, documentId);
+        Long userId = Long.parseLong(authentication.getName());
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        documentDownloadService.serve(id, documentId, userId, isAdmin, request, response);
+    }
+
     @GetMapping("/my-dossiers")
     @PreAuthorize("hasRole('DOCTORANT')")
     public ResponseEntity<ApiResponse<List<DossierResponse>>> getMyDossiers(Authentication authentication) {
@@ -113,19 +146,74 @@ public class DossierController {
 
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<DossierResponse>>> getAllDossiers() {
-        log.info("Getting all dossiers");
-        List<DossierResponse> responses = dossierService.getAllDossiers();
-        return ResponseEntity.ok(ApiResponse.success(responses));
+    public ResponseEntity<ApiResponse<CursorPage<DossierResponse>>> getAllDossiers(
+            @RequestParam(required = false) StatutDossier statut,
+            @RequestParam(required = false) Long campagneId,
+            @RequestParam(required = false) Long directeurId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Getting dossiers: statut={}, campagneId={}, directeurId={}, cursor={}",
+                statut, campagneId, directeurId, cursor);
+        CursorPage<DossierResponse> page =
+                dossierService.searchDossiers(statut, campagneId, directeurId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SearchPage<DossierSearchHit>>> searchDossiers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) StatutDossier statut,
+            @RequestParam(required = false) Long campagneId,
+            @RequestParam(required = false) Long directeurId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("Searching dossiers: q={}, statut={}, campagneId={}, directeurId={}, page={}",
+                q, statut, campagneId, directeurId, page);
+        SearchPage<DossierSearchHit> results =
+                dossierSearchIndex.search(q, statut, campagneId, directeurId, page, size);
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> rebuildSearchIndex() {
+        log.info("Rebuilding dossier search index");
+        dossierSearchIndex.rebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Reconstruction de l'index lancée", null));
     }
 
     @GetMapping("/campagne/{campagneId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<DossierResponse>>> getDossiersByCampagne(
-            @PathVariable Long campagneId) {
-        log.info("Getting dossiers for campagne: {}", campagneId);
-        List<DossierResponse> responses = dossierService.getDossiersByCampagneId(campagneId);
-        return ResponseEntity.ok(ApiResponse.success(responses));
+    public ResponseEntity<ApiResponse<CursorPage<DossierResponse>>> getDossiersByCampagne(
+            @PathVariable Long campagneId,
+            @RequestParam(required = false) StatutDossier statut,
+            @RequestParam(required = false) Long directeurId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Getting dossiers for campagne: {}, cursor={}", campagneId, cursor);
+        CursorPage<DossierResponse> page =
+                dossierService.getDossiersByCampagneId(campagneId, statut, directeurId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/campagne/{campagneId}/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDossiersByCampagne(
+            @PathVariable Long campagneId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        // Fail with a proper 404 before the response is committed
+        campagneService.getCampagneEntityById(campagneId);
+        log.info("Exporting dossiers for campagne: {} as {}", campagneId, exportFormat);
+
+        StreamingResponseBody body = out -> dossierExportService.exportCampagne(campagneId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"dossiers-campagne-" + campagneId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -137,6 +225,15 @@ public class DossierController {
     }
 
 
+    @GetMapping("/inscription-dates")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<InscriptionDateResponse>> getInscriptionDates(
+            @RequestParam(required = false) Long afterDoctorantId,
+            @RequestParam(required = false) Integer size) {
+        log.info("Getting inscription dates after doctorant: {}", afterDoctorantId);
+        return ResponseEntity.ok(dossierService.getInscriptionDates(afterDoctorantId, size));
+    }
+
     @GetMapping("/{doctorantId}/initial-date")
     public ResponseEntity<LocalDate>  getInitialInscriptionDate(@PathVariable Long doctorantId) {
         log.info("Getting inscription date for doctorant: {}", doctorantId);
@@ -0,0 +1,70 @@
+package com.devbuild.inscriptionservice.controller;
+
+import com.devbuild.common.upload.UploadSessionRequest;
+import com.devbuild.common.upload.UploadSessionResponse;
+import com.devbuild.common.upload.UploadSessionService;
+import com.devbuild.inscriptionservice.domain.dto.response.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/dossiers/uploads")
+@RequiredArgsConstructor
+@Slf4j
+public class UploadController {
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('DOCTORANT')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(
+            @Valid @RequestBody UploadSessionRequest request,
+            Authentication authentication) {
+        Long ownerId = Long.parseLong(authentication.getName());
+        UploadSessionResponse response = uploadSessionService.createSession(request, ownerId);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Session d'upload créée", response));
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('DOCTORANT')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> appendChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        Long ownerId = Long.parseLong(authentication.getName());
+        UploadSessionResponse response =
+                uploadSessionService.appendChunk(uploadId, ownerId, offset, request.getInputStream());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{uploadId}")
+    @PreAuthorize("hasRole('DOCTORANT')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getProgress(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        Long ownerId = Long.parseLong(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(uploadSessionService.getProgress(uploadId, ownerId)));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @PreAuthorize("hasRole('DOCTORANT')")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> complete(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        Long ownerId = Long.parseLong(authentication.getName());
+        UploadSessionResponse response = uploadSessionService.complete(uploadId, ownerId);
+        return ResponseEntity.ok(ApiResponse.success("Upload finalisé", response));
+    }
+}
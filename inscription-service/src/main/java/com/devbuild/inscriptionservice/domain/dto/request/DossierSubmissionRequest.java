@@ -32,6 +32,9 @@ public class DossierSubmissionRequest {
 
     private Map<TypeDocument, String> documentsTypes;
 
+    // Completed upload sessions (see /api/dossiers/uploads), used instead of a multipart part for that type
+    private Map<TypeDocument, String> uploadIds;
+
     private Boolean isReenrollment;
 
     private Long previousDossierId;
@@ -0,0 +1,89 @@
+package com.devbuild.inscriptionservice.domain.dto.response;
+
+import com.devbuild.inscriptionservice.client.UserServiceClient;
+import com.devbuild.inscriptionservice.domain.entity.DossierInscription;
+import com.devbuild.inscriptionservice.domain.enums.StatutDossier;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne d'export d'un dossier : uniquement des valeurs scalaires, sans documents,
+ * pour que l'entité puisse être détachée dès que la ligne est construite.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DossierExportRow {
+
+    public static final String[] CSV_HEADER = {
+            "id", "doctorantId", "doctorantNom", "doctorantEmail", "sujetThese",
+            "directeurId", "directeurNom", "directeurEmail", "collaboration", "statut",
+            "dateSubmission", "initialInscriptionDate", "anneesDepuisInscription", "derogationFlag",
+            "isReenrollment", "dateValidationDirecteur", "dateValidationAdmin", "campagneId", "campagneNom"
+    };
+
+    private Long id;
+    private Long doctorantId;
+    private String doctorantNom;
+    private String doctorantEmail;
+    private String sujetThese;
+    private Long directeurId;
+    private String directeurNom;
+    private String directeurEmail;
+    private String collaboration;
+    private StatutDossier statut;
+    private LocalDateTime dateSubmission;
+    private LocalDateTime initialInscriptionDate;
+    private Long anneesDepuisInscription;
+    private Boolean derogationFlag;
+    private Boolean isReenrollment;
+    private LocalDateTime dateValidationDirecteur;
+    private LocalDateTime dateValidationAdmin;
+    private Long campagneId;
+    private String campagneNom;
+
+    public static DossierExportRow fromEntity(DossierInscription dossier) {
+        return DossierExportRow.builder()
+                .id(dossier.getId())
+                .doctorantId(dossier.getDoctorantId())
+                .sujetThese(dossier.getSujetThese())
+                .directeurId(dossier.getDirecteurId())
+                .collaboration(dossier.getCollaboration())
+                .statut(dossier.getStatut())
+                .dateSubmission(dossier.getDateSubmission())
+                .initialInscriptionDate(dossier.getInitialInscriptionDate())
+                .anneesDepuisInscription(dossier.getAnneesDepuisInscription())
+                .derogationFlag(dossier.getDerogationFlag())
+                .isReenrollment(dossier.getIsReenrollment())
+                .dateValidationDirecteur(dossier.getDateValidationDirecteur())
+                .dateValidationAdmin(dossier.getDateValidationAdmin())
+                .campagneId(dossier.getCampagne().getId())
+                .campagneNom(dossier.getCampagne().getNom())
+                .build();
+    }
+
+    public void applyUsers(UserResponse doctorant, UserResponse directeur) {
+        if (doctorant != null) {
+            this.doctorantNom = UserServiceClient.fullName(doctorant);
+            this.doctorantEmail = doctorant.getEmail();
+        }
+        if (directeur != null) {
+            this.directeurNom = UserServiceClient.fullName(directeur);
+            this.directeurEmail = directeur.getEmail();
+        }
+    }
+
+    public Object[] toCsvValues() {
+        return new Object[]{
+                id, doctorantId, doctorantNom, doctorantEmail, sujetThese,
+                directeurId, directeurNom, directeurEmail, collaboration, statut,
+                dateSubmission, initialInscriptionDate, anneesDepuisInscription, derogationFlag,
+                isReenrollment, dateValidationDirecteur, dateValidationAdmin, campagneId, campagneNom
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.devbuild.inscriptionservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat de recherche plein texte, construit à partir des champs stockés
+ * dans l'index : aucune lecture en base n'est faite pour afficher une page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DossierSearchHit {
+
+    private Long dossierId;
+    private Long doctorantId;
+    private String doctorantNom;
+    private String sujetThese;
+    private String statut;
+    private String dateSubmission;
+    private float score;
+}
@@ -0,0 +1,31 @@
+package com.devbuild.inscriptionservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Date d'inscription initiale d'un doctorant (tous dossiers confondus),
+ * utilisée pour initialiser la projection locale de soutenance-service.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InscriptionDateResponse {
+
+    private Long doctorantId;
+    private LocalDate initialInscriptionDate;
+    private Boolean derogationFlag;
+
+    // Used by the JPQL constructor expression in DossierRepository
+    public InscriptionDateResponse(Long doctorantId, LocalDateTime initialInscriptionDate, Integer derogation) {
+        this.doctorantId = doctorantId;
+        this.initialInscriptionDate = initialInscriptionDate != null ? initialInscriptionDate.toLocalDate() : null;
+        this.derogationFlag = derogation != null && derogation > 0;
+    }
+}
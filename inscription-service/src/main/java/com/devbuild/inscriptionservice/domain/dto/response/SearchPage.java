@@ -0,0 +1,24 @@
+package com.devbuild.inscriptionservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page de résultats classés par pertinence.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchPage<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalHits;
+    private boolean hasNext;
+}
@@ -0,0 +1,16 @@
+package com.devbuild.inscriptionservice.domain.dto.response;
+
+/**
+ * Résultat de l'ingestion d'un fichier : type MIME détecté, taille réelle et empreinte
+ * SHA-256 du contenu. {@code cheminFichier} est l'emplacement du blob correspondant ;
+ * {@code written} indique si ce contenu vient d'être écrit (absent jusque-là du stockage).
+ */
+public record StoredFile(
+        String originalFilename,
+        String cheminFichier,
+        String mimeType,
+        long size,
+        String sha256,
+        boolean written
+) {
+}
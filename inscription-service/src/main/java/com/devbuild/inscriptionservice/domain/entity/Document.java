@@ -38,6 +38,10 @@ public class Document {
     @Column(nullable = false)
     private Long tailleFichier;
 
+    // SHA-256 of the content, null for documents stored before it was computed
+    @Column(length = 64)
+    private String sha256;
+
     @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dossier_id", nullable = false)
@@ -3,6 +3,7 @@ package com.devbuild.inscriptionservice.domain.entity;
 import com.devbuild.inscriptionservice.domain.enums.StatutDossier;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,7 +18,9 @@ import java.util.List;
 @Table(name = "dossiers_inscription", indexes = {
         @Index(name = "idx_doctorant_id", columnList = "doctorantId"),
         @Index(name = "idx_directeur_id", columnList = "directeurId"),
-        @Index(name = "idx_statut", columnList = "statut")
+        @Index(name = "idx_statut", columnList = "statut"),
+        @Index(name = "idx_campagne_id", columnList = "campagne_id"),
+        @Index(name = "idx_date_submission_id", columnList = "dateSubmission, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -78,6 +81,7 @@ public class DossierInscription {
 
     @ToString.Exclude
     @OneToMany(mappedBy = "dossier", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<Document> documents = new ArrayList<>();
 
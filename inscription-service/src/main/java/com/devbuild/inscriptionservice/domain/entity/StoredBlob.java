@@ -0,0 +1,39 @@
+package com.devbuild.inscriptionservice.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contenu stocké une seule fois sur disque, identifié par son SHA-256.
+ * {@code refCount} compte les {@link Document} qui le référencent ; le fichier
+ * n'est supprimé que lorsque ce compteur retombe à zéro.
+ */
+@Entity
+@Table(name = "stored_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false, length = 500)
+    private String cheminFichier;
+
+    @Column(nullable = false)
+    private Long taille;
+
+    @Column(nullable = false, length = 250)
+    private String mimeType;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,8 @@
 package com.devbuild.inscriptionservice.exception;
 
+import com.devbuild.common.upload.InvalidUploadException;
+import com.devbuild.common.upload.UploadConflictException;
+import com.devbuild.common.upload.UploadNotFoundException;
 import com.devbuild.inscriptionservice.domain.dto.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -70,6 +73,31 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("Accès refusé: vous n'avez pas les permissions nécessaires"));
     }
 
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUploadNotFound(UploadNotFoundException ex) {
+        log.error("Upload session not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidUpload(InvalidUploadException ex) {
+        log.error("Invalid upload: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(UploadConflictException.class)
+    public ResponseEntity<ApiResponse<Long>> handleUploadConflict(UploadConflictException ex) {
+        log.error("Upload conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.<Long>builder()
+                        .success(false)
+                        .message(ex.getMessage())
+                        .data(ex.getExpectedOffset())
+                        .build());
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException ex) {
         log.error("Illegal argument: {}", ex.getMessage());
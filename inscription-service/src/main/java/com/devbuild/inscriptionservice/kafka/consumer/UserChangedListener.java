@@ -0,0 +1,38 @@
+package com.devbuild.inscriptionservice.kafka.consumer;
+
+import com.devbuild.inscriptionservice.client.UserProfileCache;
+import com.devbuild.inscriptionservice.kafka.event.UserChangedEvent;
+import com.devbuild.inscriptionservice.service.DossierSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangedListener {
+
+    private final UserProfileCache userProfileCache;
+    private final DossierSearchIndex dossierSearchIndex;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Each instance uses its own consumer group so that every instance
+     * receives the event, evicts its own near cache and reindexes the
+     * user's dossiers in its local search index.
+     */
+    @KafkaListener(topics = "user-changed", groupId = "inscription-user-cache-${random.uuid}")
+    public void handleUserChanged(String eventJson) {
+        try {
+            UserChangedEvent event = objectMapper.readValue(eventJson, UserChangedEvent.class);
+            log.info("User changed: userId={}, changeType={}", event.getUserId(), event.getChangeType());
+            userProfileCache.invalidate(event.getUserId());
+            dossierSearchIndex.reindexDoctorant(event.getUserId());
+        } catch (Exception e) {
+            // Never block the partition on a malformed message
+            log.error("Error processing user-changed event. Skipping message.", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -23,6 +24,10 @@ public class DossierStatusChangedEvent {
     private String sujetThese;
     private String commentaire;
 
+    // Replicated by soutenance-service for its duration checks
+    private LocalDate initialInscriptionDate;
+    private Boolean derogationFlag;
+
     @Builder.Default
     private LocalDateTime timestamp = LocalDateTime.now();
 
@@ -67,4 +72,10 @@ public class DossierStatusChangedEvent {
                 .eventType("VALIDATION_ADMIN")
                 .build();
     }
+
+    public DossierStatusChangedEvent withInscription(LocalDateTime initialInscriptionDate, Boolean derogationFlag) {
+        this.initialInscriptionDate = initialInscriptionDate != null ? initialInscriptionDate.toLocalDate() : null;
+        this.derogationFlag = derogationFlag;
+        return this;
+    }
 }
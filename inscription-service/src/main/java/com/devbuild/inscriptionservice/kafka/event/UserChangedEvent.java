@@ -0,0 +1,16 @@
+package com.devbuild.inscriptionservice.kafka.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangedEvent {
+    private Long userId;
+    private String changeType;
+    private LocalDateTime timestamp;
+}
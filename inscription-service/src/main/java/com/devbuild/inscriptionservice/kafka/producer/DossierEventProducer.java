@@ -1,42 +1,60 @@
 package com.devbuild.inscriptionservice.kafka.producer;
 
+import com.devbuild.inscriptionservice.domain.entity.OutboxEvent;
 import com.devbuild.inscriptionservice.kafka.event.DossierStatusChangedEvent;
+import com.devbuild.inscriptionservice.repository.OutboxEventRepository;
+import com.devbuild.inscriptionservice.service.DossierIndexEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.time.LocalDateTime;
 
 @Component
 @Slf4j
 public class DossierEventProducer {
 
-    private static final String TOPIC = "dossier-status-changed";
+    public static final String TOPIC = "dossier-status-changed";
 
-    private final KafkaTemplate<String, DossierStatusChangedEvent> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    public DossierEventProducer(KafkaTemplate<String, DossierStatusChangedEvent> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public DossierEventProducer(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                                ApplicationEventPublisher applicationEventPublisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
+    /**
+     * Enregistre l'événement dans l'outbox, dans la transaction de l'appelant :
+     * il ne sera publié que si le changement de dossier est commité, et la requête
+     * n'attend plus Kafka. La publication est faite par {@link OutboxRelay}.
+     * L'index de recherche local est mis à jour après le même commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendDossierEvent(DossierStatusChangedEvent event) {
-        log.info("Sending dossier event to Kafka: dossierId={}, eventType={}",
+        log.info("Queueing dossier event in outbox: dossierId={}, eventType={}",
                 event.getDossierId(), event.getEventType());
 
         try {
-            // 🛑 FORCE SYNCHRONOUS SEND 🛑
-            // .get() forces the code to wait until Kafka says "Received!"
-            // If Kafka is down, this throws an Exception immediately.
-            kafkaTemplate.send(TOPIC, String.valueOf(event.getDossierId()), event).get();
-
-            log.info("✅ Successfully sent dossier event: dossierId={}", event.getDossierId());
-
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("❌ Error sending message to Kafka", e);
-            // Throwing RuntimeException triggers @Transactional rollback in ValidationService
-            throw new RuntimeException("Failed to send Kafka event", e);
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(TOPIC)
+                    .aggregateId(String.valueOf(event.getDossierId()))
+                    .eventType(event.getEventType())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            applicationEventPublisher.publishEvent(DossierIndexEvent.updated(event.getDossierId()));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Error serializing dossier event", e);
+            // Throwing RuntimeException triggers @Transactional rollback in the calling service
+            throw new RuntimeException("Failed to serialize Kafka event", e);
         }
     }
-}
\ No newline at end of file
+}
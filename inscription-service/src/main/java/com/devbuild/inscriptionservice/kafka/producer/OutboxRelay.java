@@ -0,0 +1,167 @@
+package com.devbuild.inscriptionservice.kafka.producer;
+
+import com.devbuild.inscriptionservice.domain.entity.OutboxEvent;
+import com.devbuild.inscriptionservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publie les lignes de l'outbox vers Kafka par lots.
+ * <p>
+ * Chaque lot ne contient que le plus ancien événement en attente de chaque dossier
+ * (voir {@link OutboxEventRepository#lockNextBatch}) ; l'événement suivant d'un dossier
+ * n'est sélectionné qu'une fois le précédent publié et validé, quelle que soit l'instance.
+ * Les envois utilisent l'id du dossier comme clé, via un producteur idempotent : l'ordre
+ * est conservé par dossier. Si un envoi échoue, le dossier est bloqué jusqu'au prochain passage.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    @Value("${outbox.retention:P7D}")
+    private Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Outbox events published to Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .description("Outbox events whose publication failed and will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to publish one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            Integer published;
+            // Each batch holds one event per dossier: keep draining until nothing is left
+            do {
+                published = batchTimer.record(() -> transactionTemplate.execute(status -> publishBatch()));
+            } while (published != null && published > 0);
+        } catch (Exception e) {
+            log.error("❌ Outbox relay failed: {}", e.getMessage());
+        } finally {
+            refreshLagMetrics();
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Send everything first so the producer can batch, then wait for the acks
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(kafkaTemplate.send(event.getTopic(), event.getAggregateId(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        int published = 0;
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                futures.get(i).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                event.setPublishedAt(now);
+                published++;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                failed++;
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(e.getMessage()));
+                failedCounter.increment();
+                log.error("❌ Error publishing outbox event {} (dossierId={}, attempt {}): {}",
+                        event.getId(), event.getAggregateId(), event.getAttempts(), e.getMessage());
+            }
+        }
+        outboxEventRepository.saveAll(batch);
+        publishedCounter.increment(published);
+
+        if (published > 0) {
+            log.info("✅ Published {} outbox events", published);
+        }
+        // A failure stops the drain loop until the next scheduled run
+        return failed == 0 ? published : 0;
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron:0 30 3 * * *}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(before));
+        log.info("🧹 Purged {} published outbox events older than {}", deleted, before);
+    }
+
+    private void refreshLagMetrics() {
+        try {
+            pending.set(outboxEventRepository.countPending());
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+            oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        } catch (Exception e) {
+            log.warn("Could not refresh outbox lag metrics: {}", e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -3,9 +3,12 @@ package com.devbuild.inscriptionservice.repository;
 import com.devbuild.inscriptionservice.domain.entity.Document;
 import com.devbuild.inscriptionservice.domain.enums.TypeDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
@@ -14,4 +17,9 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByDossierIdAndTypeDocument(Long dossierId, TypeDocument typeDocument);
 
     void deleteByDossierId(Long dossierId);
+
+    @Query("SELECT d FROM Document d JOIN FETCH d.dossier WHERE d.id = :documentId AND d.dossier.id = :dossierId")
+    Optional<Document> findWithDossier(@Param("dossierId") Long dossierId, @Param("documentId") Long documentId);
+
+    boolean existsByCheminFichierAndDossierIdNot(String cheminFichier, Long dossierId);
 }
@@ -1,14 +1,23 @@
 package com.devbuild.inscriptionservice.repository;
 
+import com.devbuild.inscriptionservice.domain.dto.response.InscriptionDateResponse;
 import com.devbuild.inscriptionservice.domain.entity.DossierInscription;
 import com.devbuild.inscriptionservice.domain.enums.StatutDossier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DossierRepository extends  JpaRepository<DossierInscription, Long> {
@@ -46,6 +55,39 @@ public interface DossierRepository extends  JpaRepository<DossierInscription, Lo
             @Param("doctorantId") Long doctorantId
     );
 
+    /**
+     * Pagination keyset sur (dateSubmission, id) : la page suivante commence
+     * strictement après le curseur, sans OFFSET. Les filtres null sont ignorés.
+     */
+    @EntityGraph(attributePaths = "campagne")
+    @Query("SELECT d FROM DossierInscription d WHERE " +
+            "(:statut IS NULL OR d.statut = :statut) " +
+            "AND (:campagneId IS NULL OR d.campagne.id = :campagneId) " +
+            "AND (:directeurId IS NULL OR d.directeurId = :directeurId) " +
+            "AND (:cursorDate IS NULL OR d.dateSubmission < :cursorDate " +
+            "OR (d.dateSubmission = :cursorDate AND d.id < :cursorId)) " +
+            "ORDER BY d.dateSubmission DESC, d.id DESC")
+    List<DossierInscription> findPageAfterCursor(
+            @Param("statut") StatutDossier statut,
+            @Param("campagneId") Long campagneId,
+            @Param("directeurId") Long directeurId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * Lecture en flux pour l'export : doit être consommée dans une transaction
+     * (curseur côté serveur PostgreSQL) et fermée après usage.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM DossierInscription d JOIN FETCH d.campagne " +
+            "WHERE d.campagne.id = :campagneId ORDER BY d.id")
+    Stream<DossierInscription> streamByCampagneId(@Param("campagneId") Long campagneId);
+
     @Query("SELECT COUNT(d) FROM DossierInscription d WHERE d.campagne.id = :campagneId")
     Long countByCampagneId(@Param("campagneId") Long campagneId);
 
@@ -53,4 +95,25 @@ public interface DossierRepository extends  JpaRepository<DossierInscription, Lo
             "AND YEAR(CURRENT_TIMESTAMP) - YEAR(d.initialInscriptionDate) > 3")
     List<DossierInscription> findDossiersDepassantDureeInitiale();
 
+    @Query("SELECT new com.devbuild.inscriptionservice.domain.dto.response.InscriptionDateResponse(" +
+            "d.doctorantId, MIN(d.initialInscriptionDate), " +
+            "MAX(CASE WHEN d.derogationFlag = true THEN 1 ELSE 0 END)) " +
+            "FROM DossierInscription d " +
+            "WHERE d.initialInscriptionDate IS NOT NULL " +
+            "AND (:afterDoctorantId IS NULL OR d.doctorantId > :afterDoctorantId) " +
+            "GROUP BY d.doctorantId ORDER BY d.doctorantId")
+    List<InscriptionDateResponse> findInscriptionDatesAfter(@Param("afterDoctorantId") Long afterDoctorantId,
+                                                           Pageable pageable);
+
+    @EntityGraph(attributePaths = "campagne")
+    List<DossierInscription> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "campagne")
+    List<DossierInscription> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT d.id FROM DossierInscription d WHERE d.doctorantId = :doctorantId")
+    List<Long> findIdsByDoctorantId(@Param("doctorantId") Long doctorantId);
+
+    @Query("SELECT d.id FROM DossierInscription d WHERE d.updatedAt >= :since")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,37 @@
+package com.devbuild.inscriptionservice.repository;
+
+import com.devbuild.inscriptionservice.domain.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Prochain lot à publier : pour chaque dossier, seulement son plus ancien événement
+     * non publié. Une ligne dont un prédécesseur est encore en attente (ou verrouillé
+     * par une autre instance) est exclue, ce qui garde l'ordre par dossier même quand
+     * plusieurs instances relaient en parallèle avec SKIP LOCKED.
+     */
+    @Query(value = "SELECT * FROM outbox_events o WHERE o.published_at IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events o2 WHERE o2.aggregate_id = o.aggregate_id " +
+            "AND o2.id < o.id AND o2.published_at IS NULL) " +
+            "ORDER BY o.id LIMIT :limit FOR UPDATE OF o SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Query("SELECT COUNT(o) FROM OutboxEvent o WHERE o.publishedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.publishedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt IS NOT NULL AND o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,41 @@
+package com.devbuild.inscriptionservice.repository;
+
+import com.devbuild.inscriptionservice.domain.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    /**
+     * Crée le blob ou ajoute {@code delta} références. Dans les deux cas la ligne reste
+     * verrouillée jusqu'à la fin de la transaction, ce qui la protège d'une suppression.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (sha256, chemin_fichier, taille, mime_type, ref_count, created_at) " +
+            "VALUES (:sha256, :chemin, :taille, :mimeType, :delta, now()) " +
+            "ON CONFLICT (sha256) DO UPDATE SET ref_count = stored_blobs.ref_count + :delta",
+            nativeQuery = true)
+    int upsert(@Param("sha256") String sha256,
+               @Param("chemin") String chemin,
+               @Param("taille") long taille,
+               @Param("mimeType") String mimeType,
+               @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + :delta WHERE b.sha256 = :sha256")
+    int adjustRefCount(@Param("sha256") String sha256, @Param("delta") int delta);
+
+    @Query(value = "SELECT * FROM stored_blobs WHERE sha256 = :sha256 AND ref_count <= 0 FOR UPDATE",
+            nativeQuery = true)
+    Optional<StoredBlob> lockUnreferenced(@Param("sha256") String sha256);
+
+    @Query("SELECT b.sha256 FROM StoredBlob b WHERE b.refCount <= 0")
+    List<String> findUnreferencedHashes();
+}
@@ -8,7 +8,7 @@ import com.devbuild.inscriptionservice.exception.CampagneNotActiveException;
 import com.devbuild.inscriptionservice.repository.CampagneRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.common.errors.ResourceNotFoundException;
+import com.devbuild.inscriptionservice.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
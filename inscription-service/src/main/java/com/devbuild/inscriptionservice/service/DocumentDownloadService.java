@@ -0,0 +1,166 @@
+package com.devbuild.inscriptionservice.service;
+
+import com.devbuild.inscriptionservice.domain.entity.Document;
+import com.devbuild.inscriptionservice.domain.entity.DossierInscription;
+import com.devbuild.inscriptionservice.exception.ResourceNotFoundException;
+import com.devbuild.inscriptionservice.exception.UnauthorizedException;
+import com.devbuild.inscriptionservice.repository.DocumentRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Téléchargement des pièces d'un dossier. Avec le sendfile de Tomcat, le contenu ne
+ * transite pas par le heap ; sinon il est copié par {@link FileChannel#transferTo}
+ * vers le flux de la réponse, à travers un tampon (pas de zéro-copie dans ce cas).
+ * Gère les requêtes conditionnelles (ETag = SHA-256 du contenu) et les plages d'octets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentDownloadService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final DocumentRepository documentRepository;
+    private final FileStorageService fileStorageService;
+
+    public void serve(Long dossierId, Long documentId, Long userId, boolean isAdmin,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Document document = documentRepository.findWithDossier(dossierId, documentId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Document non trouvé avec l'ID: " + documentId + " pour le dossier: " + dossierId));
+        checkAccess(document.getDossier(), userId, isAdmin);
+
+        Path path = fileStorageService.getFilePath(document.getCheminFichier());
+        if (!Files.isReadable(path)) {
+            log.error("❌ File missing for document {}: {}", documentId, path);
+            throw new ResourceNotFoundException("Fichier introuvable pour le document: " + documentId);
+        }
+        long length = Files.size(path);
+        String etag = etag(document, length);
+        long lastModified = document.getUploadedAt()
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        // Sets ETag / Last-Modified and answers 304 when the client copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(document.getMimeType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(document.getNomFichier(), StandardCharsets.UTF_8)
+                .build().toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            if (length == 0 || range.getRangeStart(length) >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(path, start, count, response);
+    }
+
+    private void checkAccess(DossierInscription dossier, Long userId, boolean isAdmin) {
+        if (isAdmin || dossier.getDoctorantId().equals(userId) || dossier.getDirecteurId().equals(userId)) {
+            return;
+        }
+        throw new UnauthorizedException("Vous n'êtes pas autorisé à consulter les documents de ce dossier");
+    }
+
+    /**
+     * Une seule plage est servie ; une demande multi-plages ou un If-Range périmé
+     * donne la réponse complète, ce que la RFC 9110 autorise. If-Range exige une
+     * comparaison forte : un ETag faible (documents anciens) ou une date ne valident
+     * jamais la plage.
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && (isWeak(etag) || !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header: {}", header);
+            return null;
+        }
+    }
+
+    private void transfer(Path path, long start, long count, HttpServletResponse response) throws IOException {
+        // The servlet stream is not a file or socket channel: transferTo copies through a heap buffer here
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean isWeak(String etag) {
+        return etag.startsWith("W/");
+    }
+
+    private static String etag(Document document, long length) {
+        if (document.getSha256() != null) {
+            return "\"" + document.getSha256() + "\"";
+        }
+        // Legacy documents without a content hash
+        return "W/\"" + document.getId() + "-" + length + "\"";
+    }
+}
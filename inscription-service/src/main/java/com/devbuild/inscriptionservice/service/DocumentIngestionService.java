@@ -0,0 +1,74 @@
+package com.devbuild.inscriptionservice.service;
+
+import com.devbuild.inscriptionservice.domain.dto.response.StoredFile;
+import com.devbuild.inscriptionservice.domain.enums.TypeDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ingestion des pièces d'un dossier : chaque partie est stockée en une seule passe
+ * ({@link FileStorageService#storeFile}) et les parties sont traitées en parallèle
+ * sur des threads virtuels. Si une partie est refusée, les contenus nouvellement
+ * écrits sont abandonnés et l'erreur d'origine est propagée. Les références sur les
+ * blobs sont prises ensuite, dans la transaction de l'appelant.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentIngestionService {
+
+    private final FileStorageService fileStorageService;
+
+    public Map<TypeDocument, StoredFile> ingest(Map<TypeDocument, MultipartFile> parts, Long dossierId) {
+        Map<TypeDocument, StoredFile> stored = new EnumMap<>(TypeDocument.class);
+        if (parts.isEmpty()) {
+            return stored;
+        }
+
+        Map<TypeDocument, Future<StoredFile>> futures = new EnumMap<>(TypeDocument.class);
+        List<Throwable> failures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            parts.forEach((type, part) ->
+                    futures.put(type, executor.submit(() -> fileStorageService.storeFile(part))));
+
+            for (Map.Entry<TypeDocument, Future<StoredFile>> entry : futures.entrySet()) {
+                try {
+                    stored.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    log.error("❌ Failed to ingest document {}: {}", entry.getKey(), e.getCause().getMessage());
+                    failures.add(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.add(e);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            // Only content this call wrote is dropped, and only if nothing references it
+            stored.values().stream()
+                    .filter(StoredFile::written)
+                    .forEach(fileStorageService::discard);
+            Throwable first = failures.get(0);
+            if (first instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Erreur lors de la sauvegarde du document", first);
+        }
+
+        log.info("Ingested {} documents for dossier {}", stored.size(), dossierId);
+        return stored;
+    }
+}
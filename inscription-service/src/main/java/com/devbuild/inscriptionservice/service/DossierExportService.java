@@ -0,0 +1,192 @@
+package com.devbuild.inscriptionservice.service;
+
+import com.devbuild.inscriptionservice.client.UserServiceClient;
+import com.devbuild.inscriptionservice.domain.dto.response.DossierExportRow;
+import com.devbuild.inscriptionservice.domain.dto.response.UserResponse;
+import com.devbuild.inscriptionservice.domain.entity.DossierInscription;
+import com.devbuild.inscriptionservice.domain.enums.ExportFormat;
+import com.devbuild.inscriptionservice.repository.DossierRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Export des dossiers d'une campagne en NDJSON ou CSV.
+ * Les dossiers sont lus via un curseur JDBC, convertis en lignes par lots de
+ * {@link #CHUNK_SIZE} (un seul appel batch à user-service par lot), puis détachés :
+ * la mémoire reste constante quel que soit le nombre de dossiers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DossierExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final DossierRepository dossierRepository;
+    private final UserServiceClient userServiceClient;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportCampagne(Long campagneId, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long count = 0;
+
+        try (Stream<DossierInscription> dossiers = dossierRepository.streamByCampagneId(campagneId)) {
+            writer.start();
+            List<DossierExportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<DossierInscription> it = dossiers.iterator();
+            while (it.hasNext()) {
+                DossierInscription dossier = it.next();
+                chunk.add(DossierExportRow.fromEntity(dossier));
+                entityManager.detach(dossier);
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(chunk, writer);
+                }
+            }
+            count += writeChunk(chunk, writer);
+            writer.finish();
+        }
+
+        log.info("📤 Exported {} dossiers of campagne {} as {} in {} ms",
+                count, campagneId, format, System.currentTimeMillis() - start);
+    }
+
+    private int writeChunk(List<DossierExportRow> chunk, RowWriter writer) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (DossierExportRow row : chunk) {
+            userIds.add(row.getDoctorantId());
+            userIds.add(row.getDirecteurId());
+        }
+        Map<Long, UserResponse> users = userServiceClient.getUsersByIds(userIds);
+
+        for (DossierExportRow row : chunk) {
+            row.applyUsers(users.get(row.getDoctorantId()), users.get(row.getDirecteurId()));
+            writer.write(row);
+        }
+        // Push each chunk to the client right away instead of waiting for the buffer to fill
+        writer.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+        void write(DossierExportRow row) throws IOException;
+        void flush() throws IOException;
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final OutputStream out;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.flush();
+        }
+
+        @Override
+        public void write(DossierExportRow row) throws IOException {
+            objectMapper.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        // Excel in French locale expects ';' and a BOM to detect UTF-8
+        private static final char SEPARATOR = ';';
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write('\uFEFF');
+            writeLine(DossierExportRow.CSV_HEADER);
+            writer.flush();
+        }
+
+        @Override
+        public void write(DossierExportRow row) throws IOException {
+            writeLine(row.toCsvValues());
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(SEPARATOR);
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String s = value.toString();
+            if (s.indexOf(SEPARATOR) >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+                return '"' + s.replace("\"", "\"\"") + '"';
+            }
+            return s;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.devbuild.inscriptionservice.service;
+
+/**
+ * Dossier créé, modifié ou supprimé : publié dans la transaction de la modification,
+ * traité par {@link DossierSearchIndex} une fois celle-ci commitée.
+ */
+public record DossierIndexEvent(Long dossierId, boolean deleted) {
+
+    public static DossierIndexEvent updated(Long dossierId) {
+        return new DossierIndexEvent(dossierId, false);
+    }
+
+    public static DossierIndexEvent deleted(Long dossierId) {
+        return new DossierIndexEvent(dossierId, true);
+    }
+}
@@ -0,0 +1,382 @@
+package com.devbuild.inscriptionservice.service;
+
+import com.devbuild.inscriptionservice.client.UserProfileCache;
+import com.devbuild.inscriptionservice.config.FileStorageProperties;
+import com.devbuild.inscriptionservice.domain.dto.response.DossierSearchHit;
+import com.devbuild.inscriptionservice.domain.dto.response.SearchPage;
+import com.devbuild.inscriptionservice.domain.dto.response.UserResponse;
+import com.devbuild.inscriptionservice.domain.entity.DossierInscription;
+import com.devbuild.inscriptionservice.domain.enums.StatutDossier;
+import com.devbuild.inscriptionservice.repository.DossierRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index plein texte Lucene des dossiers, stocké sur disque local.
+ * <p>
+ * Toutes les écritures passent par un unique thread : les évènements
+ * {@link DossierIndexEvent} sont appliqués après commit, dans l'ordre, en relisant
+ * l'état du dossier en base. Les écritures sont visibles dès le rafraîchissement
+ * du searcher et commitées sur disque quand la file est vide. Au démarrage, les
+ * dossiers modifiés depuis le dernier commit sont réindexés (index reconstruit
+ * s'il est vide ou incohérent avec la base).
+ */
+@Component
+@Slf4j
+public class DossierSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String F_ID = "id";
+    private static final String F_DOCTORANT_ID = "doctorantId";
+    private static final String F_DOCTORANT_NOM = "doctorantNom";
+    private static final String F_SUJET = "sujetThese";
+    private static final String F_COLLABORATION = "collaboration";
+    private static final String F_STATUT = "statut";
+    private static final String F_CAMPAGNE = "campagneId";
+    private static final String F_DIRECTEUR = "directeurId";
+    private static final String F_DATE = "dateSubmission";
+    private static final String F_DATE_TRI = "dateSubmissionTri";
+
+    private static final String[] SEARCH_FIELDS = {F_SUJET, F_DOCTORANT_NOM, F_COLLABORATION};
+    private static final Map<String, Float> BOOSTS = Map.of(F_SUJET, 2.0f, F_DOCTORANT_NOM, 1.5f, F_COLLABORATION, 1.0f);
+
+    private static final String COMMIT_TIME = "committedAt";
+    // Events still queued when the process stopped are lost; their changes are re-read on startup
+    private static final long CATCH_UP_MARGIN_MINUTES = 5;
+
+    private final DossierRepository dossierRepository;
+    private final UserProfileCache userProfileCache;
+    private final FileStorageProperties properties;
+    private final Analyzer analyzer = new FrenchAnalyzer();
+    private final ThreadPoolExecutor writerThread;
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public DossierSearchIndex(DossierRepository dossierRepository,
+                              UserProfileCache userProfileCache,
+                              FileStorageProperties properties) {
+        this.dossierRepository = dossierRepository;
+        this.userProfileCache = userProfileCache;
+        this.properties = properties;
+        this.writerThread = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "dossier-search-indexer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path indexPath = Paths.get(properties.getSearch().getIndexPath()).toAbsolutePath().normalize();
+        Files.createDirectories(indexPath);
+        directory = FSDirectory.open(indexPath);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        log.info("📚 Search index opened at {} ({} documents)", indexPath, writer.getDocStats().numDocs);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        writerThread.shutdown();
+        if (!writerThread.awaitTermination(10, TimeUnit.SECONDS)) {
+            writerThread.shutdownNow();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDossierChanged(DossierIndexEvent event) {
+        submit(() -> {
+            if (event.deleted()) {
+                writer.deleteDocuments(new Term(F_ID, String.valueOf(event.dossierId())));
+            } else {
+                reindex(List.of(event.dossierId()));
+            }
+        });
+    }
+
+    /**
+     * Le nom du doctorant est dénormalisé dans l'index : ses dossiers sont
+     * réindexés quand son profil change.
+     */
+    public void reindexDoctorant(Long doctorantId) {
+        submit(() -> reindex(dossierRepository.findIdsByDoctorantId(doctorantId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        submit(() -> {
+            long indexed = writer.getDocStats().numDocs;
+            long stored = dossierRepository.count();
+            String committedAt = lastCommitTime();
+            if (indexed != stored || committedAt == null) {
+                log.info("📚 Search index out of sync ({} indexed, {} in database), rebuilding", indexed, stored);
+                rebuildAll();
+                return;
+            }
+            LocalDateTime since = LocalDateTime.parse(committedAt).minusMinutes(CATCH_UP_MARGIN_MINUTES);
+            List<Long> ids = dossierRepository.findIdsUpdatedSince(since);
+            reindex(ids);
+            log.info("📚 Search index caught up: {} dossiers modified since {}", ids.size(), since);
+        });
+    }
+
+    /**
+     * Reconstruction complète, par lots ordonnés sur l'id.
+     */
+    public void rebuild() {
+        submit(this::rebuildAll);
+    }
+
+    /**
+     * Recherche classée par pertinence puis par date de soumission.
+     * Sans texte, renvoie les dossiers filtrés du plus récent au plus ancien.
+     */
+    public SearchPage<DossierSearchHit> search(String text, StatutDossier statut, Long campagneId,
+                                               Long directeurId, Integer page, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int window = (pageNumber + 1) * pageSize;
+        if (window > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException(
+                    "Pagination limitée aux " + MAX_RESULT_WINDOW + " premiers résultats, affinez la recherche");
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder()
+                .add(parse(text), BooleanClause.Occur.MUST);
+        if (statut != null) {
+            builder.add(new TermQuery(new Term(F_STATUT, statut.name())), BooleanClause.Occur.FILTER);
+        }
+        if (campagneId != null) {
+            builder.add(new TermQuery(new Term(F_CAMPAGNE, campagneId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (directeurId != null) {
+            builder.add(new TermQuery(new Term(F_DIRECTEUR, directeurId.toString())), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+        Sort sort = new Sort(SortField.FIELD_SCORE, new SortField(F_DATE_TRI, SortField.Type.LONG, true));
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs top = searcher.search(query, window, sort, true);
+                int total = searcher.count(query);
+                StoredFields storedFields = searcher.storedFields();
+
+                List<DossierSearchHit> hits = new ArrayList<>();
+                ScoreDoc[] scoreDocs = top.scoreDocs;
+                for (int i = pageNumber * pageSize; i < scoreDocs.length; i++) {
+                    hits.add(toHit(storedFields.document(scoreDocs[i].doc), scoreDocs[i].score));
+                }
+                return SearchPage.<DossierSearchHit>builder()
+                        .items(hits)
+                        .page(pageNumber)
+                        .size(pageSize)
+                        .totalHits(total)
+                        .hasNext(total > window)
+                        .build();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur de lecture de l'index de recherche", e);
+        }
+    }
+
+    private Query parse(String text) {
+        if (text == null || text.isBlank()) {
+            return new MatchAllDocsQuery();
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(text);
+        } catch (ParseException e) {
+            // Unbalanced quotes or stray operators: search the literal text instead
+            try {
+                return parser.parse(QueryParser.escape(text));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Requête de recherche invalide: " + text);
+            }
+        }
+    }
+
+    private void rebuildAll() throws IOException {
+        writer.deleteAll();
+        int batchSize = properties.getSearch().getRebuildBatchSize();
+        long afterId = 0;
+        int count = 0;
+        List<DossierInscription> batch;
+        do {
+            batch = dossierRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+            write(batch);
+            count += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+        log.info("📚 Search index rebuilt: {} dossiers", count);
+    }
+
+    private void reindex(Collection<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<DossierInscription> dossiers = dossierRepository.findByIdIn(ids);
+        write(dossiers);
+
+        // Deleted in the meantime
+        Set<Long> missing = new HashSet<>(ids);
+        dossiers.forEach(d -> missing.remove(d.getId()));
+        for (Long id : missing) {
+            writer.deleteDocuments(new Term(F_ID, String.valueOf(id)));
+        }
+    }
+
+    private void write(List<DossierInscription> dossiers) throws IOException {
+        if (dossiers.isEmpty()) {
+            return;
+        }
+        Map<Long, UserResponse> doctorants = doctorants(dossiers);
+        for (DossierInscription dossier : dossiers) {
+            writer.updateDocument(new Term(F_ID, String.valueOf(dossier.getId())),
+                    toDocument(dossier, doctorants.get(dossier.getDoctorantId())));
+        }
+    }
+
+    private Map<Long, UserResponse> doctorants(List<DossierInscription> dossiers) {
+        try {
+            return userProfileCache.getAll(dossiers.stream().map(DossierInscription::getDoctorantId).distinct().toList());
+        } catch (Exception e) {
+            // Indexed without the name; picked up again on the next change or user-changed event
+            log.warn("⚠️ Could not load doctorant profiles for indexing: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static Document toDocument(DossierInscription dossier, UserResponse doctorant) {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, String.valueOf(dossier.getId()), Field.Store.YES));
+        doc.add(new StoredField(F_DOCTORANT_ID, dossier.getDoctorantId()));
+        doc.add(new TextField(F_SUJET, dossier.getSujetThese(), Field.Store.YES));
+        if (dossier.getCollaboration() != null) {
+            doc.add(new TextField(F_COLLABORATION, dossier.getCollaboration(), Field.Store.NO));
+        }
+        if (doctorant != null) {
+            String nom = ((doctorant.getPrenom() != null ? doctorant.getPrenom() : "") + " "
+                    + (doctorant.getNom() != null ? doctorant.getNom() : "")).trim();
+            doc.add(new TextField(F_DOCTORANT_NOM, nom, Field.Store.YES));
+        }
+        doc.add(new StringField(F_STATUT, dossier.getStatut().name(), Field.Store.YES));
+        doc.add(new StringField(F_CAMPAGNE, String.valueOf(dossier.getCampagne().getId()), Field.Store.NO));
+        doc.add(new StringField(F_DIRECTEUR, String.valueOf(dossier.getDirecteurId()), Field.Store.NO));
+        doc.add(new StoredField(F_DATE, dossier.getDateSubmission().toString()));
+        doc.add(new NumericDocValuesField(F_DATE_TRI, dossier.getDateSubmission().toEpochSecond(ZoneOffset.UTC)));
+        return doc;
+    }
+
+    private static DossierSearchHit toHit(Document doc, float score) {
+        return DossierSearchHit.builder()
+                .dossierId(Long.valueOf(doc.get(F_ID)))
+                .doctorantId(doc.getField(F_DOCTORANT_ID).numericValue().longValue())
+                .doctorantNom(doc.get(F_DOCTORANT_NOM))
+                .sujetThese(doc.get(F_SUJET))
+                .statut(doc.get(F_STATUT))
+                .dateSubmission(doc.get(F_DATE))
+                .score(score)
+                .build();
+    }
+
+    private String lastCommitTime() throws IOException {
+        if (writer.getLiveCommitData() == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (COMMIT_TIME.equals(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void submit(IndexTask task) {
+        writerThread.execute(() -> {
+            try {
+                task.run();
+                searcherManager.maybeRefresh();
+                // Group commit: fsync once the burst of changes has been applied
+                if (writerThread.getQueue().isEmpty() && writer.hasUncommittedChanges()) {
+                    writer.setLiveCommitData(Map.of(COMMIT_TIME, LocalDateTime.now().toString()).entrySet());
+                    writer.commit();
+                }
+            } catch (Exception e) {
+                log.error("❌ Search index update failed", e);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws IOException;
+    }
+}
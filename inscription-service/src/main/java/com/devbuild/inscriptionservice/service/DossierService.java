@@ -1,9 +1,13 @@
 package com.devbuild.inscriptionservice.service;
 
-
+import com.devbuild.common.upload.UploadSessionService;
+import com.devbuild.inscriptionservice.client.UserLookupLoader;
 import com.devbuild.inscriptionservice.client.UserServiceClient;
 import com.devbuild.inscriptionservice.domain.dto.request.DossierSubmissionRequest;
+import com.devbuild.inscriptionservice.domain.dto.response.CursorPage;
 import com.devbuild.inscriptionservice.domain.dto.response.DossierResponse;
+import com.devbuild.inscriptionservice.domain.dto.response.InscriptionDateResponse;
+import com.devbuild.inscriptionservice.domain.dto.response.StoredFile;
 import com.devbuild.inscriptionservice.domain.dto.response.UserResponse;
 import com.devbuild.inscriptionservice.domain.entity.Campagne;
 import com.devbuild.inscriptionservice.domain.entity.Document;
@@ -16,13 +20,17 @@ import com.devbuild.inscriptionservice.kafka.producer.DossierEventProducer;
 import com.devbuild.inscriptionservice.repository.DossierRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tika.Tika;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,12 +41,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DossierService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SYNC_PAGE_SIZE = 1000;
+
     private final DossierRepository dossierRepository;
     private final CampagneService campagneService;
     private final FileStorageService fileStorageService;
+    private final DocumentIngestionService documentIngestionService;
+    private final UploadSessionService uploadSessionService;
     private final DossierEventProducer eventProducer;
     private final UserServiceClient userServiceClient;
-    private final Tika tika;
+    private final UserLookupLoader userLookupLoader;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Transactional
     public DossierResponse submitDossier(DossierSubmissionRequest request,
@@ -155,50 +170,34 @@ public class DossierService {
         log.info("Dossier created: id={}, doctorantId={}, isReenrollment={}",
                 savedDossier.getId(), doctorantId, isReenrollment);
 
-        // Handle documents
+        // Handle documents: every provided part is stored (in parallel, one pass each);
+        // on re-enrollment the previous documents of the other types are carried over
+        Map<TypeDocument, MultipartFile> parts = new EnumMap<>(TypeDocument.class);
+        if (files != null) {
+            files.forEach((type, file) -> {
+                if (file != null && !file.isEmpty()) {
+                    parts.put(type, file);
+                }
+            });
+        }
+        Map<TypeDocument, String> uploadIds = request.getUploadIds() != null ? request.getUploadIds() : Map.of();
+        uploadIds.forEach((type, uploadId) ->
+                parts.putIfAbsent(type, uploadSessionService.openCompleted(uploadId, doctorantId)));
+
+        Map<TypeDocument, StoredFile> storedFiles = documentIngestionService.ingest(parts, savedDossier.getId());
+        storedFiles.forEach((type, storedFile) -> {
+            fileStorageService.retain(storedFile, parts.get(type));
+            addStoredDocument(savedDossier, type, storedFile);
+        });
+
+        uploadSessionService.consume(uploadIds.values(), doctorantId);
+
         if (isReenrollment && previousDossier != null) {
-            // Copy documents from previous dossier if not provided
             for (Document previousDoc : previousDossier.getDocuments()) {
-                TypeDocument docType = previousDoc.getTypeDocument();
-
-                // If file is provided for this type, use the new one
-                if (files != null && files.containsKey(docType)) {
-                    MultipartFile file = files.get(docType);
-                    if (file != null && !file.isEmpty()) {
-                        saveDocument(savedDossier, docType, file);
-                    } else {
-                        copyDocument(previousDoc, savedDossier);
-                    }
-                } else {
+                if (!storedFiles.containsKey(previousDoc.getTypeDocument())) {
                     copyDocument(previousDoc, savedDossier);
                 }
             }
-
-            // Add any new document types that weren't in the previous dossier
-            if (files != null) {
-                for (Map.Entry<TypeDocument, MultipartFile> entry : files.entrySet()) {
-                    TypeDocument docType = entry.getKey();
-                    boolean existsInPrevious = previousDossier.getDocuments().stream()
-                            .anyMatch(doc -> doc.getTypeDocument() == docType);
-
-                    if (!existsInPrevious) {
-                        MultipartFile file = entry.getValue();
-                        if (file != null && !file.isEmpty()) {
-                            saveDocument(savedDossier, docType, file);
-                        }
-                    }
-                }
-            }
-        } else {
-            // First inscription - save all provided files
-            if (files != null && !files.isEmpty()) {
-                for (Map.Entry<TypeDocument, MultipartFile> entry : files.entrySet()) {
-                    MultipartFile file = entry.getValue();
-                    if (file != null && !file.isEmpty()) {
-                        saveDocument(savedDossier, entry.getKey(), file);
-                    }
-                }
-            }
         }
 
         // Send Kafka event
@@ -207,19 +206,22 @@ public class DossierService {
                 doctorantId,
                 directeurId,
                 sujetThese
-        );
+        ).withInscription(savedDossier.getInitialInscriptionDate(), savedDossier.getDerogationFlag());
         eventProducer.sendDossierEvent(event);
 
         return DossierResponse.fromEntity(savedDossier);
     }
 
     private void copyDocument(Document sourceDoc, DossierInscription targetDossier) {
+        // Same content, one more reference: nothing is copied on disk
+        fileStorageService.retain(sourceDoc);
         Document copiedDoc = Document.builder()
                 .nomFichier(sourceDoc.getNomFichier())
                 .cheminFichier(sourceDoc.getCheminFichier())
                 .typeDocument(sourceDoc.getTypeDocument())
                 .mimeType(sourceDoc.getMimeType())
                 .tailleFichier(sourceDoc.getTailleFichier())
+                .sha256(sourceDoc.getSha256())
                 .dossier(targetDossier)
                 .build();
 
@@ -227,27 +229,19 @@ public class DossierService {
     }
 
 
-    private void saveDocument(DossierInscription dossier, TypeDocument typeDocument, MultipartFile file) {
-        try {
-            String filename = fileStorageService.storeFile(file, dossier.getId());
-            String mimeType = tika.detect(file.getInputStream());
-
-            Document document = Document.builder()
-                    .nomFichier(file.getOriginalFilename())
-                    .cheminFichier(filename)
-                    .typeDocument(typeDocument)
-                    .mimeType(mimeType)
-                    .tailleFichier(file.getSize())
-                    .dossier(dossier)
-                    .build();
-
-            dossier.addDocument(document);
-            log.info("Document added to dossier: type={}, filename={}", typeDocument, filename);
+    private void addStoredDocument(DossierInscription dossier, TypeDocument typeDocument, StoredFile storedFile) {
+        Document document = Document.builder()
+                .nomFichier(storedFile.originalFilename())
+                .cheminFichier(storedFile.cheminFichier())
+                .typeDocument(typeDocument)
+                .mimeType(storedFile.mimeType())
+                .tailleFichier(storedFile.size())
+                .sha256(storedFile.sha256())
+                .dossier(dossier)
+                .build();
 
-        } catch (Exception e) {
-            log.error("Failed to save document", e);
-            throw new RuntimeException("Erreur lors de la sauvegarde du document", e);
-        }
+        dossier.addDocument(document);
+        log.info("Document added to dossier: type={}, filename={}", typeDocument, storedFile.cheminFichier());
     }
 
     @Transactional(readOnly = true)
@@ -268,29 +262,42 @@ public class DossierService {
      * Enrichit la réponse avec les informations des utilisateurs depuis user-service
      */
     private DossierResponse enrichDossierResponse(DossierInscription dossier, String authToken) {
-        DossierResponse response = DossierResponse.fromEntity(dossier);
-
-        // Enrichir avec les infos du doctorant
-        try {
-            String doctorantNom = userServiceClient.getUserFullName(dossier.getDoctorantId());
-            String doctorantEmail = userServiceClient.getUserEmail(dossier.getDoctorantId());
-            response.setDoctorantNom(doctorantNom);
-            response.setDoctorantEmail(doctorantEmail);
-        } catch (Exception e) {
-            log.warn("Could not fetch doctorant info: {}", e.getMessage());
-        }
+        return enrichDossierResponses(List.of(dossier)).get(0);
+    }
 
-        // Enrichir avec les infos du directeur
-        try {
-            String directeurNom = userServiceClient.getUserFullName(dossier.getDirecteurId());
-            String directeurEmail = userServiceClient.getUserEmail(dossier.getDirecteurId());
-            response.setDirecteurNom(directeurNom);
-            response.setDirecteurEmail(directeurEmail);
-        } catch (Exception e) {
-            log.warn("Could not fetch directeur info: {}", e.getMessage());
-        }
+    /**
+     * Enrichit une liste de dossiers avec un seul appel batch vers user-service,
+     * quel que soit le nombre de dossiers.
+     */
+    private List<DossierResponse> enrichDossierResponses(List<DossierInscription> dossiers) {
+        dossiers.forEach(dossier -> userLookupLoader
+                .request(dossier.getDoctorantId())
+                .request(dossier.getDirecteurId()));
+        userLookupLoader.load();
+
+        return dossiers.stream()
+                .map(dossier -> {
+                    DossierResponse response = DossierResponse.fromEntity(dossier);
+
+                    UserResponse doctorant = userLookupLoader.get(dossier.getDoctorantId());
+                    if (doctorant != null) {
+                        response.setDoctorantNom(UserServiceClient.fullName(doctorant));
+                        response.setDoctorantEmail(doctorant.getEmail());
+                    } else {
+                        log.warn("Could not fetch doctorant info: id={}", dossier.getDoctorantId());
+                    }
+
+                    UserResponse directeur = userLookupLoader.get(dossier.getDirecteurId());
+                    if (directeur != null) {
+                        response.setDirecteurNom(UserServiceClient.fullName(directeur));
+                        response.setDirecteurEmail(directeur.getEmail());
+                    } else {
+                        log.warn("Could not fetch directeur info: id={}", dossier.getDirecteurId());
+                    }
 
-        return response;
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
@@ -311,27 +318,74 @@ public class DossierService {
 
     @Transactional(readOnly = true)
     public List<DossierResponse> getPendingDossiersForAdmin() {
-        return dossierRepository.findByStatut(StatutDossier.EN_ATTENTE_ADMIN)
-                .stream()
-                .map(DossierResponse::fromEntity)
-                .collect(Collectors.toList());
+        return enrichDossierResponses(dossierRepository.findByStatut(StatutDossier.EN_ATTENTE_ADMIN));
     }
 
+    /**
+     * Liste paginée (keyset sur dateSubmission, id) des dossiers, du plus récent au plus ancien.
+     * Une page coûte un nombre constant de requêtes : la page avec sa campagne,
+     * les documents en un lot, et un appel batch vers user-service.
+     */
     @Transactional(readOnly = true)
-    public List<DossierResponse> getAllDossiers() {
-        return dossierRepository.findAll()
-                .stream()
-                .map(DossierResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<DossierResponse> searchDossiers(StatutDossier statut, Long campagneId, Long directeurId,
+                                                      String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        DossierCursor after = DossierCursor.decode(cursor);
+
+        // One extra row tells us whether a next page exists
+        List<DossierInscription> dossiers = dossierRepository.findPageAfterCursor(
+                statut, campagneId, directeurId,
+                after != null ? after.dateSubmission() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = dossiers.size() > pageSize;
+        List<DossierInscription> page = hasNext ? dossiers.subList(0, pageSize) : dossiers;
+        String nextCursor = hasNext ? DossierCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return CursorPage.<DossierResponse>builder()
+                .items(enrichDossierResponses(page))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(page.size())
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public List<DossierResponse> getDossiersByCampagneId(Long campagneId) {
+    public CursorPage<DossierResponse> getDossiersByCampagneId(Long campagneId, StatutDossier statut,
+                                                               Long directeurId, String cursor, Integer size) {
         Campagne campagne = campagneService.getCampagneEntityById(campagneId);
-        return campagne.getDossiers()
-                .stream()
-                .map(DossierResponse::fromEntity)
-                .collect(Collectors.toList());
+        return searchDossiers(statut, campagne.getId(), directeurId, cursor, size);
+    }
+
+    /**
+     * Position opaque dans la liste triée, encodée en base64 "dateSubmission|id".
+     */
+    private record DossierCursor(LocalDateTime dateSubmission, Long id) {
+
+        static DossierCursor of(DossierInscription dossier) {
+            return new DossierCursor(dossier.getDateSubmission(), dossier.getId());
+        }
+
+        static DossierCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new DossierCursor(
+                        LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Curseur de pagination invalide: " + cursor);
+            }
+        }
+
+        String encode() {
+            String raw = dateSubmission + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
     }
 
     @Transactional
@@ -339,12 +393,11 @@ public class DossierService {
         DossierInscription dossier = dossierRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Dossier non trouvé avec l'ID: " + id));
 
-        // Delete associated files
-        dossier.getDocuments().forEach(doc ->
-                fileStorageService.deleteFile(doc.getCheminFichier())
-        );
+        // Release associated files: content shared with other dossiers is kept
+        dossier.getDocuments().forEach(fileStorageService::release);
 
         dossierRepository.delete(dossier);
+        applicationEventPublisher.publishEvent(DossierIndexEvent.deleted(id));
         log.info("Dossier deleted: id={}", id);
     }
 
@@ -364,4 +417,14 @@ public class DossierService {
                 .map(LocalDateTime::toLocalDate)
                 .orElse(null);
     }
+
+    /**
+     * Dates d'inscription initiales par doctorant, triées par doctorantId,
+     * pour la synchronisation initiale de soutenance-service.
+     */
+    @Transactional(readOnly = true)
+    public List<InscriptionDateResponse> getInscriptionDates(Long afterDoctorantId, Integer size) {
+        int pageSize = size == null || size <= 0 ? MAX_SYNC_PAGE_SIZE : Math.min(size, MAX_SYNC_PAGE_SIZE);
+        return dossierRepository.findInscriptionDatesAfter(afterDoctorantId, PageRequest.of(0, pageSize));
+    }
 }
@@ -1,10 +1,22 @@
 package com.devbuild.inscriptionservice.service;
 
 import com.devbuild.inscriptionservice.config.FileStorageProperties;
+import com.devbuild.inscriptionservice.domain.dto.response.StoredFile;
+import com.devbuild.inscriptionservice.domain.entity.Document;
 import com.devbuild.inscriptionservice.exception.InvalidFileException;
+import com.devbuild.inscriptionservice.repository.DocumentRepository;
+import com.devbuild.inscriptionservice.repository.StoredBlobRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tika.Tika;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,53 +26,115 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
 
 
+/**
+ * Stockage adressé par contenu : chaque contenu distinct est écrit une seule fois sous
+ * {@code blobs/<2 premiers caractères>/<sha256>} et compté dans {@code stored_blobs}.
+ * <p>
+ * Toute suppression de fichier se fait en tenant le verrou de la ligne du blob
+ * (référence à zéro), et toute prise de référence passe par un upsert sur cette même
+ * ligne : un blob ne peut donc pas disparaître pendant qu'on le référence.
+ */
 @Service
 @Slf4j
 public class FileStorageService {
+
+    // Enough for Tika's magic-byte detection of PDF, JPEG and PNG
+    private static final int SNIFF_PREFIX_SIZE = 8192;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String BLOB_DIR = "blobs";
+    private static final String INCOMING_DIR = ".incoming";
+
     private final Path fileStorageLocation;
+    private final Path incomingLocation;
     private final FileStorageProperties properties;
     private final Tika tika;
+    private final StoredBlobRepository storedBlobRepository;
+    private final DocumentRepository documentRepository;
+    private final TransactionTemplate requiresNewTransaction;
 
-    public FileStorageService(FileStorageProperties properties) {
+    public FileStorageService(FileStorageProperties properties,
+                              Tika tika,
+                              StoredBlobRepository storedBlobRepository,
+                              DocumentRepository documentRepository,
+                              PlatformTransactionManager transactionManager) {
         this.properties = properties;
-        this.tika = new Tika();
+        this.tika = tika;
+        this.storedBlobRepository = storedBlobRepository;
+        this.documentRepository = documentRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
         this.fileStorageLocation = Paths.get(properties.getStorage().getPath())
                 .toAbsolutePath().normalize();
+        this.incomingLocation = this.fileStorageLocation.resolve(BLOB_DIR).resolve(INCOMING_DIR);
 
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.incomingLocation);
             log.info("File storage directory created: {}", this.fileStorageLocation);
         } catch (Exception ex) {
             throw new RuntimeException("Could not create upload directory!", ex);
         }
     }
 
-    public String storeFile(MultipartFile file, Long dossierId) {
+    /**
+     * Analyse le fichier en une première lecture (type MIME sur les premiers octets,
+     * SHA-256, taille réelle) sans rien écrire : un contenu déjà présent ne coûte aucune
+     * écriture disque. Un nouveau contenu est relu depuis le tampon du multipart et écrit
+     * dans un fichier temporaire renommé ensuite en {@code <sha256>}. Ne touche pas la
+     * base : peut être appelé en parallèle, la référence est prise ensuite par
+     * {@link #retain(StoredFile, MultipartFile)}.
+     */
+    public StoredFile storeFile(MultipartFile file) {
         validateFile(file);
 
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String extension = getExtension(originalFilename);
-        String newFilename = String.format("%d_%s.%s",
-                dossierId,
-                UUID.randomUUID().toString(),
-                extension);
+        if (originalFilename.contains("..")) {
+            throw new InvalidFileException("Filename contains invalid path sequence: " + originalFilename);
+        }
+        long maxSize = properties.getFile().getMaxSize();
 
         try {
-            if (originalFilename.contains("..")) {
-                throw new InvalidFileException("Filename contains invalid path sequence: " + originalFilename);
-            }
+            String mimeType;
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (InputStream inputStream = file.getInputStream()) {
+                byte[] prefix = inputStream.readNBytes(SNIFF_PREFIX_SIZE);
+                mimeType = tika.detect(prefix);
+                if (!isAllowedMimeType(mimeType)) {
+                    throw new InvalidFileException("Le type MIME du fichier n'est pas autorisé: " + mimeType);
+                }
 
-            Path targetLocation = this.fileStorageLocation.resolve(newFilename);
+                byte[] buffer = prefix.length == SNIFF_PREFIX_SIZE
+                        ? Arrays.copyOf(prefix, COPY_BUFFER_SIZE)
+                        : prefix;
+                int read = prefix.length;
+                while (read > 0) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new InvalidFileException(tooLargeMessage());
+                    }
+                    digest.update(buffer, 0, read);
+                    read = inputStream.read(buffer);
+                }
+            }
 
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            String chemin = blobPath(sha256);
+            boolean written = false;
+            if (!Files.exists(getFilePath(chemin))) {
+                // New content only: the second read comes from the multipart's own buffer
+                writeBlob(file, chemin);
+                written = true;
             }
 
-            log.info("File stored successfully: {}", newFilename);
-            return newFilename;
+            log.info("File stored successfully: {} -> {} ({} bytes, {}, {})",
+                    originalFilename, chemin, size, mimeType, written ? "new content" : "deduplicated");
+            return new StoredFile(originalFilename, chemin, mimeType, size, sha256, written);
 
         } catch (IOException ex) {
             log.error("Failed to store file: {}", originalFilename, ex);
@@ -68,6 +142,113 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Prend une référence sur le blob d'un fichier ingéré, dans la transaction de l'appelant.
+     * Si la transaction est annulée, un blob qui n'est plus référencé est supprimé.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(StoredFile storedFile, MultipartFile source) {
+        storedBlobRepository.upsert(storedFile.sha256(), storedFile.cheminFichier(),
+                storedFile.size(), storedFile.mimeType(), 1);
+
+        // The row is now locked by us: if the blob was reclaimed since storeFile checked, write it back
+        if (!Files.exists(getFilePath(storedFile.cheminFichier()))) {
+            log.warn("Blob {} was reclaimed concurrently, writing it again", storedFile.sha256());
+            try {
+                writeBlob(source, storedFile.cheminFichier());
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not store file " + storedFile.originalFilename(), ex);
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    discard(storedFile);
+                }
+            }
+        });
+    }
+
+    /**
+     * Ajoute une référence au contenu d'un document existant (copie lors d'une réinscription).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(Document document) {
+        if (!isBlob(document)) {
+            // Legacy per-dossier file: shared by path, guarded in release()
+            return;
+        }
+        if (storedBlobRepository.adjustRefCount(document.getSha256(), 1) == 0) {
+            log.warn("No blob row for document {} ({})", document.getId(), document.getSha256());
+        }
+    }
+
+    /**
+     * Retire la référence d'un document supprimé. Le fichier n'est effacé qu'après commit,
+     * et seulement si plus aucun document ne le référence.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Document document) {
+        if (isBlob(document)) {
+            storedBlobRepository.adjustRefCount(document.getSha256(), -1);
+            runAfterCommit(() -> reclaim(document.getSha256()));
+            return;
+        }
+
+        // Legacy file named after its dossier: reenrollment copies may still point to it
+        String chemin = document.getCheminFichier();
+        if (documentRepository.existsByCheminFichierAndDossierIdNot(chemin, document.getDossier().getId())) {
+            log.info("File {} still referenced by another dossier, keeping it", chemin);
+            return;
+        }
+        runAfterCommit(() -> deleteFile(chemin));
+    }
+
+    /**
+     * Supprime le blob s'il n'est plus référencé. La ligne est verrouillée pendant la
+     * suppression du fichier, ce qui bloque toute prise de référence concurrente.
+     */
+    public void reclaim(String sha256) {
+        requiresNewTransaction.executeWithoutResult(status ->
+                storedBlobRepository.lockUnreferenced(sha256).ifPresent(blob -> {
+                    deleteFile(blob.getCheminFichier());
+                    storedBlobRepository.delete(blob);
+                    log.info("Blob reclaimed: {}", sha256);
+                }));
+    }
+
+    /**
+     * Supprime un blob fraîchement écrit dont plus personne ne veut (ingestion échouée
+     * ou transaction annulée). L'upsert à zéro référence verrouille la ligne comme le
+     * ferait une prise de référence concurrente.
+     */
+    public void discard(StoredFile storedFile) {
+        try {
+            requiresNewTransaction.executeWithoutResult(status ->
+                    storedBlobRepository.upsert(storedFile.sha256(), storedFile.cheminFichier(),
+                            storedFile.size(), storedFile.mimeType(), 0));
+            reclaim(storedFile.sha256());
+        } catch (Exception e) {
+            log.error("Failed to discard blob {}: {}", storedFile.sha256(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rattrapage des blobs dont la suppression après commit n'a pas pu se faire (arrêt, erreur).
+     */
+    @Scheduled(cron = "${dossier.storage.reclaim-cron:0 15 * * * *}")
+    public void reclaimUnreferenced() {
+        for (String sha256 : storedBlobRepository.findUnreferencedHashes()) {
+            try {
+                reclaim(sha256);
+            } catch (Exception e) {
+                log.error("Failed to reclaim blob {}: {}", sha256, e.getMessage());
+            }
+        }
+    }
+
     public void deleteFile(String filename) {
         try {
             Path filePath = this.fileStorageLocation.resolve(filename).normalize();
@@ -82,16 +263,56 @@ public class FileStorageService {
         return this.fileStorageLocation.resolve(filename).normalize();
     }
 
+    private void writeBlob(MultipartFile file, String chemin) throws IOException {
+        Path target = getFilePath(chemin);
+        Files.createDirectories(target.getParent());
+        // Same filesystem as the blobs, so the rename is atomic and a blob path never exposes partial content
+        Path temp = Files.createTempFile(incomingLocation, "upload-", ".tmp");
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            deleteTemp(temp);
+        }
+    }
+
+    private static void deleteTemp(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ex) {
+            log.warn("Could not delete temporary upload {}: {}", temp, ex.getMessage());
+        }
+    }
+
+    private static boolean isBlob(Document document) {
+        return document.getSha256() != null && document.getCheminFichier().startsWith(BLOB_DIR + "/");
+    }
+
+    private static String blobPath(String sha256) {
+        return BLOB_DIR + "/" + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileException("Le fichier est vide");
         }
 
         if (file.getSize() > properties.getFile().getMaxSize()) {
-            throw new InvalidFileException(
-                    String.format("Le fichier dépasse la taille maximale autorisée de %d MB",
-                            properties.getFile().getMaxSize() / (1024 * 1024))
-            );
+            throw new InvalidFileException(tooLargeMessage());
         }
 
         String originalFilename = file.getOriginalFilename();
@@ -106,17 +327,18 @@ public class FileStorageService {
                             extension, String.join(", ", properties.getFile().getAllowedExtensions()))
             );
         }
+    }
 
-        // Validate MIME type with Tika
+    private String tooLargeMessage() {
+        return String.format("Le fichier dépasse la taille maximale autorisée de %d MB",
+                properties.getFile().getMaxSize() / (1024 * 1024));
+    }
+
+    private static MessageDigest sha256() {
         try {
-            String detectedMimeType = tika.detect(file.getInputStream());
-            if (!isAllowedMimeType(detectedMimeType)) {
-                throw new InvalidFileException(
-                        "Le type MIME du fichier n'est pas autorisé: " + detectedMimeType
-                );
-            }
-        } catch (IOException e) {
-            throw new InvalidFileException("Impossible de détecter le type MIME du fichier");
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -68,7 +68,7 @@ public class ValidationService {
                 ancienStatut,
                 nouveauStatut,
                 commentaire
-        );
+        ).withInscription(dossier.getInitialInscriptionDate(), dossier.getDerogationFlag());
         eventProducer.sendDossierEvent(event);
 
         return DossierResponse.fromEntity(saved);
@@ -119,7 +119,7 @@ public class ValidationService {
                 ancienStatut,
                 nouveauStatut,
                 commentaire
-        );
+        ).withInscription(dossier.getInitialInscriptionDate(), dossier.getDerogationFlag());
         eventProducer.sendDossierEvent(event);
 
         return DossierResponse.fromEntity(saved);
@@ -0,0 +1,135 @@
+package com.devbuild.inscriptionservice.repository;
+
+import com.devbuild.inscriptionservice.domain.entity.OutboxEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against PostgreSQL: the ordering guarantee relies on FOR UPDATE SKIP LOCKED.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.config.import-check.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Only the JPA layer: the application class would also pull in Feign and Kafka
+    @Configuration
+    @EntityScan(basePackageClasses = OutboxEvent.class)
+    @EnableJpaRepositories(basePackageClasses = OutboxEventRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void selectsOnlyTheOldestPendingEventOfEachDossier() {
+        OutboxEvent x1 = save("X");
+        save("X");
+        OutboxEvent y1 = save("Y");
+
+        assertEquals(List.of(x1.getId(), y1.getId()), lockNextBatch(10));
+    }
+
+    @Test
+    void doesNotOvertakeAnEventLockedByAnotherRelay() throws Exception {
+        OutboxEvent x1 = save("X");
+        OutboxEvent x2 = save("X");
+        OutboxEvent y1 = save("Y");
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService relayA = Executors.newSingleThreadExecutor();
+        try {
+            // Relay A locks X1 and keeps its transaction open
+            Future<?> publication = relayA.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                List<OutboxEvent> batch = repository.lockNextBatch(1);
+                assertEquals(List.of(x1.getId()), ids(batch));
+                locked.countDown();
+                await(release);
+                batch.forEach(event -> event.setPublishedAt(LocalDateTime.now()));
+                repository.saveAll(batch);
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            // Relay B skips the locked X1 but must not publish X2 ahead of it
+            assertEquals(List.of(y1.getId()), lockNextBatch(10));
+
+            release.countDown();
+            publication.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            relayA.shutdownNow();
+        }
+
+        // X1 is committed as published: X2 is now next in line
+        assertEquals(List.of(x2.getId(), y1.getId()), lockNextBatch(10));
+    }
+
+    private List<Long> lockNextBatch(int limit) {
+        return new TransactionTemplate(transactionManager).execute(status -> ids(repository.lockNextBatch(limit)));
+    }
+
+    private OutboxEvent save(String aggregateId) {
+        return repository.save(OutboxEvent.builder()
+                .topic("dossier-status-changed")
+                .aggregateId(aggregateId)
+                .eventType("STATUS_CHANGED")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.devbuild.inscriptionservice.service;
+
+import com.devbuild.inscriptionservice.config.FileStorageProperties;
+import com.devbuild.inscriptionservice.domain.dto.response.StoredFile;
+import com.devbuild.inscriptionservice.domain.entity.Document;
+import com.devbuild.inscriptionservice.domain.entity.StoredBlob;
+import com.devbuild.inscriptionservice.repository.DocumentRepository;
+import com.devbuild.inscriptionservice.repository.StoredBlobRepository;
+import org.apache.tika.Tika;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reference counting and reclaim run against PostgreSQL: they rely on
+ * INSERT ... ON CONFLICT and row locks.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.config.import-check.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Configuration
+    @EntityScan(basePackageClasses = StoredBlob.class)
+    @EnableJpaRepositories(basePackageClasses = StoredBlobRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path storageDir;
+
+    private FileStorageService fileStorageService;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageProperties properties = new FileStorageProperties();
+        properties.getStorage().setPath(storageDir.toString());
+        fileStorageService = new FileStorageService(properties, new Tika(), storedBlobRepository,
+                documentRepository, transactionManager);
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        storedBlobRepository.deleteAll();
+    }
+
+    @Test
+    void storesIdenticalContentOnceAndLeavesNoTemporaryFile() throws Exception {
+        StoredFile first = fileStorageService.storeFile(pdf("diplome.pdf", "same content"));
+        StoredFile second = fileStorageService.storeFile(pdf("copie.pdf", "same content"));
+
+        assertTrue(first.written());
+        assertFalse(second.written());
+        assertEquals(first.cheminFichier(), second.cheminFichier());
+        assertTrue(Files.exists(fileStorageService.getFilePath(first.cheminFichier())));
+        try (var incoming = Files.list(storageDir.resolve("blobs/.incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void duplicateUploadDoesNotWriteToIncoming() throws Exception {
+        StoredFile first = fileStorageService.storeFile(pdf("diplome.pdf", "duplicate content"));
+
+        // Any temporary file for the duplicate would now fail to be created
+        Path incoming = storageDir.resolve("blobs/.incoming");
+        Files.delete(incoming);
+        Files.createFile(incoming);
+
+        StoredFile second = fileStorageService.storeFile(pdf("copie.pdf", "duplicate content"));
+
+        assertFalse(second.written());
+        assertEquals(first.cheminFichier(), second.cheminFichier());
+        assertTrue(Files.isRegularFile(incoming));
+    }
+
+    @Test
+    void deletesBlobOnlyWhenLastReferenceIsReleased() {
+        MockMultipartFile upload = pdf("diplome.pdf", "shared content");
+        StoredFile stored = fileStorageService.storeFile(upload);
+        Path blob = fileStorageService.getFilePath(stored.cheminFichier());
+
+        transaction.executeWithoutResult(status -> {
+            fileStorageService.retain(stored, upload);
+            fileStorageService.retain(document(stored));
+        });
+        assertEquals(2, refCount(stored));
+
+        transaction.executeWithoutResult(status -> fileStorageService.release(document(stored)));
+        assertEquals(1, refCount(stored));
+        assertTrue(Files.exists(blob));
+
+        transaction.executeWithoutResult(status -> fileStorageService.release(document(stored)));
+        assertFalse(storedBlobRepository.existsById(stored.sha256()));
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void discardsNewBlobWhenTransactionRollsBack() {
+        MockMultipartFile upload = pdf("diplome.pdf", "rolled back content");
+        StoredFile stored = fileStorageService.storeFile(upload);
+
+        transaction.executeWithoutResult(status -> {
+            fileStorageService.retain(stored, upload);
+            status.setRollbackOnly();
+        });
+
+        assertFalse(storedBlobRepository.existsById(stored.sha256()));
+        assertFalse(Files.exists(fileStorageService.getFilePath(stored.cheminFichier())));
+    }
+
+    @Test
+    void reclaimsOnlyUnreferencedBlobs() {
+        MockMultipartFile keptUpload = pdf("kept.pdf", "kept content");
+        StoredFile kept = fileStorageService.storeFile(keptUpload);
+        transaction.executeWithoutResult(status -> fileStorageService.retain(kept, keptUpload));
+
+        // An orphan left behind by an after-commit reclaim that never ran
+        StoredFile orphan = fileStorageService.storeFile(pdf("orphan.pdf", "orphan content"));
+        transaction.executeWithoutResult(status -> storedBlobRepository.upsert(orphan.sha256(),
+                orphan.cheminFichier(), orphan.size(), orphan.mimeType(), 0));
+
+        fileStorageService.reclaimUnreferenced();
+
+        assertFalse(storedBlobRepository.existsById(orphan.sha256()));
+        assertFalse(Files.exists(fileStorageService.getFilePath(orphan.cheminFichier())));
+        assertEquals(1, refCount(kept));
+        assertTrue(Files.exists(fileStorageService.getFilePath(kept.cheminFichier())));
+    }
+
+    private int refCount(StoredFile stored) {
+        return storedBlobRepository.findById(stored.sha256()).orElseThrow().getRefCount();
+    }
+
+    private static Document document(StoredFile stored) {
+        return Document.builder()
+                .nomFichier(stored.originalFilename())
+                .cheminFichier(stored.cheminFichier())
+                .mimeType(stored.mimeType())
+                .tailleFichier(stored.size())
+                .sha256(stored.sha256())
+                .build();
+    }
+
+    private static MockMultipartFile pdf(String filename, String text) {
+        byte[] content = ("%PDF-1.4\n" + text + "\n%%EOF").getBytes(StandardCharsets.ISO_8859_1);
+        return new MockMultipartFile("file", filename, "application/pdf", content);
+    }
+}
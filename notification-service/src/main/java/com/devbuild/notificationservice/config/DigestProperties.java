@@ -0,0 +1,42 @@
+package com.devbuild.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notifications to directeurs and admins. Doctorant emails (attestations,
+ * convocations...) are always sent immediately.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "notification.digest")
+@Data
+public class DigestProperties {
+
+    /**
+     * Notify directeurs of dossier status changes and admins of soutenance events.
+     * Off by default: these recipients were never emailed before.
+     */
+    private boolean notifyStakeholders = false;
+
+    /**
+     * Buffer stakeholder notifications and send one summary per recipient and window.
+     * On by default: turning it off sends directeurs and admins one email per event.
+     */
+    private boolean enabled = true;
+
+    /** A recipient's summary is sent once its oldest pending entry is this old. */
+    private Duration window = Duration.ofHours(1);
+
+    private int maxEntriesPerEmail = 200;
+
+    /** Notification types (dossier status or soutenance topic) that bypass the digest. */
+    private List<String> immediateTypes = new ArrayList<>();
+
+    /** Recipients of soutenance notifications. */
+    private List<String> adminEmails = new ArrayList<>();
+}
@@ -1,26 +1,73 @@
 package com.devbuild.notificationservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 public class KafkaConsumerConfig {
 
+    public static final String BATCH_FACTORY = "batchKafkaListenerContainerFactory";
+    public static final String RETRY_FACTORY = "retryKafkaListenerContainerFactory";
+
     @Value("${spring.kafka.consumer.bootstrap-servers}")
     private String bootstrapServers;
 
+    // One consumer thread per partition at most, extra threads stay idle;
+    // the producers' topics are created with 6 partitions by default
+    @Value("${notification.kafka.concurrency:3}")
+    private int concurrency;
+
+    @Value("${notification.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${notification.kafka.replicas:1}")
+    private short replicas;
+
+    @Value("${notification.kafka.max-poll-records:200}")
+    private int maxPollRecords;
+
+    @Bean
+    public KafkaAdmin kafkaAdmin() {
+        return new KafkaAdmin(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers));
+    }
+
+    /**
+     * Only the retry and dead-letter topics owned by this service. The business
+     * topics are declared by the services that produce them: growing their
+     * partitions from here would move keys and break per-dossier ordering.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics notificationTopics(NotificationRetryProperties retryProperties) {
+        List<NewTopic> topics = new ArrayList<>(List.of(topic(NotificationRetryProperties.DLT_TOPIC)));
+        retryProperties.topics().forEach(name -> topics.add(topic(name)));
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    private NewTopic topic(String name) {
+        return TopicBuilder.name(name).partitions(partitions).replicas(replicas).build();
+    }
+
     @Bean
-    public ConsumerFactory<String, String> consumerFactory() {
+    public ConsumerFactory<String, String> consumerFactory(MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
 
@@ -40,14 +87,49 @@ public class KafkaConsumerConfig {
         // 4. Trust settings (Just in case)
         props.put("spring.json.trusted.packages", "*");
 
-        return new DefaultKafkaConsumerFactory<>(props);
+        // Batches are handed to the worker pool as a whole
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        DefaultKafkaConsumerFactory<String, String> factory = new DefaultKafkaConsumerFactory<>(props);
+        // Exposes the client metrics, including kafka.consumer.fetch.manager.records.lag(.max)
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        return factory;
+    }
+
+    @Bean(BATCH_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+
+    /**
+     * Record listener with manual acks: a record that is not due yet is nacked
+     * with a delay, which pauses the partitions of its consumer without blocking
+     * the poll loop. Each retry tier gets its own container from this factory
+     * ({@link RetryListenerConfig}), so a pause never holds back another tier.
+     */
+    @Bean(RETRY_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, String> retryKafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, String> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setConcurrency(concurrency);
         return factory;
     }
-}
\ No newline at end of file
+}
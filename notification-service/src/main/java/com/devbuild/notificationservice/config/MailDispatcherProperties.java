@@ -0,0 +1,30 @@
+package com.devbuild.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notification.mail")
+@Data
+public class MailDispatcherProperties {
+
+    /** Worker threads, each holding its own SMTP connection. */
+    private int workers = 2;
+
+    /** Messages waiting to be sent; producers block up to enqueueTimeout when full. */
+    private int queueCapacity = 1000;
+
+    private Duration enqueueTimeout = Duration.ofSeconds(30);
+
+    /** Messages per second accepted by the relay, all workers combined (0 = unlimited). */
+    private double ratePerSecond = 5;
+
+    /** Reconnect after this many messages, relays often cap a session. */
+    private int maxMessagesPerConnection = 100;
+
+    /** An idle worker closes its connection after this delay. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,38 @@
+package com.devbuild.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Non-blocking retries: attempt n goes to notification-retry-n and waits
+ * initialDelay x multiplier^n there. Exhausted records go to the dead-letter topic.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "notification.retry")
+@Data
+public class NotificationRetryProperties {
+
+    public static final String RETRY_TOPIC_PREFIX = "notification-retry-";
+    public static final String DLT_TOPIC = "notification-dlt";
+
+    private int attempts = 4;
+    private Duration initialDelay = Duration.ofSeconds(10);
+    private double multiplier = 3.0;
+
+    public String topic(int attempt) {
+        return RETRY_TOPIC_PREFIX + attempt;
+    }
+
+    public Duration delay(int attempt) {
+        return Duration.ofMillis((long) (initialDelay.toMillis() * Math.pow(multiplier, attempt)));
+    }
+
+    public List<String> topics() {
+        return IntStream.range(0, attempts).mapToObj(this::topic).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.devbuild.notificationservice.config;
+
+import com.devbuild.notificationservice.service.NotificationListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListenerConfigurer;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * One listener container per retry tier. A nack pauses every partition of the
+ * consumer that received it, so sharing a container would hold the short tiers
+ * behind a record waiting in the longest one.
+ */
+@Configuration
+public class RetryListenerConfig implements KafkaListenerConfigurer {
+
+    private static final String RETRY_GROUP = "notification-retry";
+
+    private final NotificationListener notificationListener;
+    private final NotificationRetryProperties retryProperties;
+    private final ConcurrentKafkaListenerContainerFactory<String, String> retryFactory;
+
+    public RetryListenerConfig(NotificationListener notificationListener,
+                               NotificationRetryProperties retryProperties,
+                               @Qualifier(KafkaConsumerConfig.RETRY_FACTORY)
+                               ConcurrentKafkaListenerContainerFactory<String, String> retryFactory) {
+        this.notificationListener = notificationListener;
+        this.retryProperties = retryProperties;
+        this.retryFactory = retryFactory;
+    }
+
+    @Override
+    public void configureKafkaListeners(KafkaListenerEndpointRegistrar registrar) {
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.afterPropertiesSet();
+
+        Method handleRetry = handleRetryMethod();
+        for (String topic : retryProperties.topics()) {
+            MethodKafkaListenerEndpoint<String, String> endpoint = new MethodKafkaListenerEndpoint<>();
+            endpoint.setId(topic + "-listener");
+            endpoint.setGroupId(RETRY_GROUP);
+            endpoint.setTopics(topic);
+            endpoint.setBean(notificationListener);
+            endpoint.setMethod(handleRetry);
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            registrar.registerEndpoint(endpoint, retryFactory);
+        }
+    }
+
+    private static Method handleRetryMethod() {
+        try {
+            return NotificationListener.class.getMethod("handleRetry", ConsumerRecord.class, Acknowledgment.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("NotificationListener.handleRetry not found", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.devbuild.notificationservice.controller;
 
+import com.devbuild.notificationservice.service.DeadLetterReplayService;
 import com.devbuild.notificationservice.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
     private final EmailService emailService;
+    private final DeadLetterReplayService deadLetterReplayService;
 
     /**
      * Endpoint to test email configuration manually.
@@ -25,4 +27,14 @@ public class NotificationController {
         );
         return ResponseEntity.ok("Email sent to " + to);
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-publishes up to {@code max} dead-lettered notifications to their original topic.
+     * Usage: POST http://localhost:8084/api/notifications/dlt/replay?max=100
+     */
+    @PostMapping("/dlt/replay")
+    public ResponseEntity<String> replayDeadLetters(@RequestParam(defaultValue = "100") int max) {
+        int replayed = deadLetterReplayService.replay(Math.max(1, Math.min(max, 1000)));
+        return ResponseEntity.ok(replayed + " notification(s) replayed");
+    }
+}
@@ -0,0 +1,16 @@
+package com.devbuild.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DigestEntry {
+    private Long id;
+    private String line;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.devbuild.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SoutenanceStatusChangedEvent {
+    private int schemaVersion;
+    private String eventId;
+    private String eventType;
+    private Long demandeId;
+    private Long doctorantId;
+    private String doctorantEmail;
+    private String doctorantNom;
+    private String doctorantPrenom;
+    private String status;
+    private LocalDate dateSubmission;
+    private LocalDate dateSoutenance;
+    private LocalTime heureSoutenance;
+    private String lieuSoutenance;
+    private String motif;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,97 @@
+package com.devbuild.notificationservice.service;
+
+import com.devbuild.notificationservice.config.NotificationRetryProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays dead-lettered notifications onto their original topic. The DLT is read
+ * with its own consumer group, so each record is replayed once; the idempotency
+ * store keeps already delivered events from being sent again.
+ */
+@Service
+@Slf4j
+public class DeadLetterReplayService {
+
+    private static final String REPLAY_GROUP = "notification-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConsumerFactory<String, String> consumerFactory;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    public DeadLetterReplayService(ConsumerFactory<String, String> consumerFactory,
+                                   KafkaTemplate<String, String> kafkaTemplate) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public synchronized int replay(int max) {
+        Properties overrides = new Properties();
+        // The main factory starts at "latest": a fresh replay group must see existing dead letters
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        int replayed = 0;
+        try (Consumer<String, String> consumer =
+                     consumerFactory.createConsumer(REPLAY_GROUP, null, "-replay", overrides)) {
+            consumer.subscribe(List.of(NotificationRetryProperties.DLT_TOPIC));
+            // Replays stop at the first empty poll: records dead-lettered meanwhile wait for the next call
+            while (replayed < max) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                Set<TopicPartition> rewound = new HashSet<>();
+                for (ConsumerRecord<String, String> record : records) {
+                    if (replayed == max) {
+                        // Rewind so the rest of this poll is replayed next time
+                        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                        if (rewound.add(partition)) {
+                            consumer.seek(partition, record.offset());
+                        }
+                        continue;
+                    }
+                    republish(record);
+                    replayed++;
+                }
+                consumer.commitSync();
+            }
+        }
+        log.info("🔁 Replayed {} notifications from {}", replayed, NotificationRetryProperties.DLT_TOPIC);
+        return replayed;
+    }
+
+    private void republish(ConsumerRecord<String, String> record) {
+        String topic = NotificationRetryPublisher.originalTopic(record);
+        ProducerRecord<String, String> replay = new ProducerRecord<>(topic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("x-notification-")) {
+                replay.headers().add(header);
+            }
+        }
+        try {
+            kafkaTemplate.send(replay).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying to " + topic, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not replay record to " + topic, e);
+        }
+    }
+}
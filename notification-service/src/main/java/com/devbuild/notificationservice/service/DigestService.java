@@ -0,0 +1,136 @@
+package com.devbuild.notificationservice.service;
+
+import com.devbuild.notificationservice.config.DigestProperties;
+import com.devbuild.notificationservice.dto.DigestEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Notifications to directeurs and admins, sent only when
+ * {@code notification.digest.notify-stakeholders} is on. By default they are buffered per
+ * recipient in the local H2 store and flushed as one summary email once the
+ * recipient's oldest entry is older than the window; with digest mode off, and
+ * for the configured immediate types, each one is sent right away.
+ * An entry is only deleted after its summary has been accepted by the relay.
+ */
+@Service
+@Slf4j
+public class DigestService {
+
+    private static final int MAX_SUBJECT_LENGTH = 150;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DigestProperties properties;
+    private final EmailService emailService;
+    private final EmailTemplateRenderer templateRenderer;
+    private final ProcessedEventStore processedEvents;
+    private final MeterRegistry meterRegistry;
+
+    public DigestService(JdbcTemplate jdbcTemplate, DigestProperties properties, EmailService emailService,
+                         EmailTemplateRenderer templateRenderer, ProcessedEventStore processedEvents,
+                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.emailService = emailService;
+        this.templateRenderer = templateRenderer;
+        this.processedEvents = processedEvents;
+        this.meterRegistry = meterRegistry;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS digest_entries (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "recipient VARCHAR(255) NOT NULL, " +
+                "prenom VARCHAR(255), " +
+                "event_id VARCHAR(255) NOT NULL, " +
+                "type VARCHAR(100), " +
+                "line VARCHAR(2000) NOT NULL, " +
+                "created_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT uk_digest_recipient_event UNIQUE (recipient, event_id))");
+    }
+
+    /**
+     * Idempotent per recipient and event: a retried or replayed event never
+     * adds the same line twice nor sends the same email again.
+     */
+    public void notify(String recipient, String prenom, String type, String eventId, String line) {
+        if (!properties.isEnabled() || properties.getImmediateTypes().contains(type)) {
+            sendNow(recipient, prenom, eventId, line);
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO digest_entries (recipient, prenom, event_id, type, line, created_at) " +
+                            "SELECT ?, ?, ?, ?, ?, ? WHERE NOT EXISTS " +
+                            "(SELECT 1 FROM digest_entries WHERE recipient = ? AND event_id = ?)",
+                    recipient, prenom, eventId, type, line, Timestamp.valueOf(LocalDateTime.now()),
+                    recipient, eventId);
+            meterRegistry.counter("notification.digest.entries", "type", String.valueOf(type)).increment();
+        } catch (DuplicateKeyException e) {
+            log.debug("Digest entry {} already buffered for {}", eventId, recipient);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:60000}")
+    public void flush() {
+        // Runs even when digest mode is off, so that entries buffered before are not stranded
+        List<String> due = jdbcTemplate.queryForList(
+                "SELECT recipient FROM digest_entries GROUP BY recipient HAVING MIN(created_at) <= ?",
+                String.class, Timestamp.valueOf(LocalDateTime.now().minus(properties.getWindow())));
+        for (String recipient : due) {
+            try {
+                flush(recipient);
+            } catch (Exception e) {
+                // Entries stay buffered and are picked up by the next run
+                log.error("❌ Failed to send digest to {}: {}", recipient, e.getMessage());
+            }
+        }
+    }
+
+    private void flush(String recipient) {
+        Map<Long, String> prenoms = new HashMap<>();
+        List<DigestEntry> entries = jdbcTemplate.query(
+                "SELECT id, prenom, line, created_at FROM digest_entries WHERE recipient = ? " +
+                        "ORDER BY created_at, id LIMIT ?",
+                (rs, rowNum) -> {
+                    prenoms.put(rs.getLong("id"), rs.getString("prenom"));
+                    return new DigestEntry(rs.getLong("id"), rs.getString("line"),
+                            rs.getTimestamp("created_at").toLocalDateTime());
+                },
+                recipient, properties.getMaxEntriesPerEmail());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("prenom", prenoms.get(entries.get(entries.size() - 1).getId()));
+        variables.put("entries", entries);
+        String body = templateRenderer.render(EmailTemplate.DIGEST, variables);
+        emailService.sendEmail(recipient,
+                EmailTemplate.DIGEST.getSubject() + " (" + entries.size() + ")", body).join();
+
+        jdbcTemplate.batchUpdate("DELETE FROM digest_entries WHERE id = ?",
+                entries.stream().map(entry -> new Object[]{entry.getId()}).toList());
+        meterRegistry.counter("notification.digest.sent").increment();
+        log.info("📧 Digest of {} notifications sent to {}", entries.size(), recipient);
+    }
+
+    private void sendNow(String recipient, String prenom, String eventId, String line) {
+        String key = eventId + ":" + recipient;
+        if (processedEvents.isProcessed(key)) {
+            return;
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("prenom", prenom);
+        variables.put("entries", List.of(new DigestEntry(null, line, LocalDateTime.now())));
+        String subject = line.length() > MAX_SUBJECT_LENGTH ? line.substring(0, MAX_SUBJECT_LENGTH) + "…" : line;
+        emailService.sendEmail(recipient, subject, templateRenderer.render(EmailTemplate.DIGEST, variables)).join();
+        processedEvents.markProcessed(key);
+    }
+}
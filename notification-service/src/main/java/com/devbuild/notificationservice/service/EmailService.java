@@ -8,11 +8,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -20,13 +19,16 @@ import java.nio.charset.StandardCharsets;
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
+    private final MailDispatcher mailDispatcher;
 
     @Value("${spring.mail.username}")
     private String senderEmail;
 
-    @Async
-    public void sendEmail(String to, String subject, String body) {
+    /**
+     * Builds the message and queues it; the returned future completes once the
+     * relay has accepted it.
+     */
+    public CompletableFuture<Void> sendEmail(String to, String subject, String body) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
@@ -36,15 +38,15 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(body, true); // HTML = true
 
-            mailSender.send(message);
-            log.info("Email sent to {}", to);
+            return dispatch(message, to);
         } catch (MessagingException e) {
-            log.error("Failed to send email to {}", to, e);
+            log.error("Failed to build email to {}", to, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
-    @Async
-    public void sendEmailWithAttachment(String to, String subject, String body, byte[] attachment, String filename) {
+    public CompletableFuture<Void> sendEmailWithAttachment(String to, String subject, String body,
+                                                           byte[] attachment, String filename) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
@@ -56,10 +58,20 @@ public class EmailService {
 
             helper.addAttachment(filename, new ByteArrayResource(attachment));
 
-            mailSender.send(message);
-            log.info("Email with attachment sent to {}", to);
+            return dispatch(message, to);
         } catch (MessagingException e) {
-            log.error("Failed to send email with attachment", e);
+            log.error("Failed to build email with attachment", e);
+            return CompletableFuture.failedFuture(e);
         }
     }
-}
\ No newline at end of file
+
+    private CompletableFuture<Void> dispatch(MimeMessage message, String to) {
+        return mailDispatcher.submit(message).whenComplete((ok, error) -> {
+            if (error == null) {
+                log.info("Email sent to {}", to);
+            } else {
+                log.error("Failed to send email to {}: {}", to, error.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.devbuild.notificationservice.service;
+
+/**
+ * Notification emails, each rendered from templates/mail/{name}.html.
+ */
+public enum EmailTemplate {
+
+    DOSSIER_VALIDE("mail/dossier-valide", "Votre Attestation d'Inscription"),
+    DOSSIER_REJETE("mail/dossier-rejete", "Mise à jour de votre dossier"),
+    DEMANDE_RECUE("mail/demande-recue", "Accusé de réception"),
+    SOUTENANCE_AUTORISEE("mail/soutenance-autorisee", "Soutenance Autorisée !"),
+    SOUTENANCE_PLANIFIEE("mail/soutenance-planifiee", "Convocation à la soutenance"),
+    DIGEST("mail/digest", "Récapitulatif des notifications");
+
+    private final String name;
+    private final String subject;
+
+    EmailTemplate(String name, String subject) {
+        this.name = name;
+        this.subject = subject;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
@@ -0,0 +1,107 @@
+package com.devbuild.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Renders notification emails from Thymeleaf templates.
+ * <p>
+ * Every template is rendered once at startup so that it is parsed and held in
+ * the engine's template cache (spring.thymeleaf.cache, on by default): a broken
+ * template fails the boot instead of the first notification. Output goes into
+ * pooled buffers rather than a fresh StringWriter per message. The pool is used
+ * instead of a ThreadLocal because listeners run on short-lived virtual threads.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private static final Locale LOCALE = Locale.FRENCH;
+    private static final int POOL_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 2 * 1024;
+    // A buffer grown past this by an unusually large message is not kept
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final ITemplateEngine templateEngine;
+    private final BlockingQueue<BufferWriter> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    public EmailTemplateRenderer(ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+        warmUp();
+    }
+
+    public String render(EmailTemplate template, Map<String, ?> variables) {
+        Context context = new Context(LOCALE);
+        variables.forEach(context::setVariable);
+
+        BufferWriter buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new BufferWriter();
+        }
+        try {
+            templateEngine.process(template.getName(), context, buffer);
+            return buffer.toString();
+        } finally {
+            buffer.reset();
+            if (buffer.capacity() <= MAX_RETAINED_CAPACITY) {
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    private void warmUp() {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            render(template, Map.of());
+        }
+        log.info("📧 {} email templates parsed and cached", EmailTemplate.values().length);
+    }
+
+    private static final class BufferWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) {
+            builder.append(str, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        int capacity() {
+            return builder.capacity();
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
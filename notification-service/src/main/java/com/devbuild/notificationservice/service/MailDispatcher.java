@@ -0,0 +1,261 @@
+package com.devbuild.notificationservice.service;
+
+import com.devbuild.notificationservice.config.MailDispatcherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.util.MailConnectException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded SMTP dispatch queue drained by a small pool of workers.
+ * <p>
+ * Each worker keeps its own connection open and sends several messages on it,
+ * reconnecting after {@code maxMessagesPerConnection} messages, after an error
+ * or when idle. A rate limiter shared by all workers keeps the relay under
+ * {@code ratePerSecond}. When the queue is full, callers block up to
+ * {@code enqueueTimeout}, which slows the Kafka consumers down instead of
+ * piling up threads.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private record OutgoingMail(MimeMessage message, CompletableFuture<Void> result, long enqueuedAt) {
+    }
+
+    private final JavaMailSenderImpl mailSender;
+    private final MailDispatcherProperties properties;
+    private final BlockingQueue<OutgoingMail> queue;
+    private final RateLimiter rateLimiter;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Timer sendDuration;
+    private final Timer deliveryLatency;
+    private final Counter failures;
+    private final Counter rejected;
+
+    public MailDispatcher(JavaMailSenderImpl mailSender, MailDispatcherProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.rateLimiter = new RateLimiter(properties.getRatePerSecond());
+
+        Gauge.builder("mail.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting for an SMTP worker")
+                .register(meterRegistry);
+        this.sendDuration = Timer.builder("mail.send.duration")
+                .description("Time spent in the SMTP exchange")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("mail.delivery.latency")
+                .description("Time from enqueue to accepted by the relay")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failures = Counter.builder("mail.send.failures")
+                .description("Messages that could not be sent")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("mail.queue.rejected")
+                .description("Messages refused because the queue stayed full")
+                .register(meterRegistry);
+
+        for (int i = 1; i <= properties.getWorkers(); i++) {
+            Thread worker = new Thread(this::work, "smtp-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            boolean queued = running && queue.offer(new OutgoingMail(message, result, System.nanoTime()),
+                    properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (!queued) {
+                rejected.increment();
+                result.completeExceptionally(new RejectedExecutionException("Mail queue full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        // Workers drain what is already queued
+        for (Thread worker : workers) {
+            worker.join(properties.getIdleTimeout().toMillis());
+            worker.interrupt();
+        }
+    }
+
+    private void work() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        long idleMillis = Math.min(properties.getIdleTimeout().toMillis(), 1000);
+        long idleSince = System.nanoTime();
+
+        while (running || !queue.isEmpty()) {
+            OutgoingMail mail;
+            try {
+                mail = queue.poll(idleMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (mail == null) {
+                if (transport != null && System.nanoTime() - idleSince > properties.getIdleTimeout().toNanos()) {
+                    close(transport);
+                    transport = null;
+                }
+                continue;
+            }
+
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                mail.result().completeExceptionally(e);
+                break;
+            }
+
+            if (transport != null && sentOnConnection >= properties.getMaxMessagesPerConnection()) {
+                close(transport);
+                transport = null;
+            }
+            boolean reused = transport != null;
+            try {
+                if (transport == null) {
+                    transport = connect();
+                    sentOnConnection = 0;
+                }
+                send(transport, mail);
+                sentOnConnection++;
+            } catch (MessagingException first) {
+                if (reused && connectionLost(first, transport)) {
+                    // The server may have dropped an idle connection: retry once on a fresh one
+                    close(transport);
+                    transport = null;
+                    try {
+                        transport = connect();
+                        sentOnConnection = 0;
+                        send(transport, mail);
+                        sentOnConnection++;
+                    } catch (Exception e) {
+                        transport = fail(mail, transport, e);
+                    }
+                } else {
+                    transport = fail(mail, transport, first);
+                }
+            } catch (Exception e) {
+                // Whatever happens to one message, the worker keeps draining the queue
+                transport = fail(mail, transport, e);
+            }
+            idleSince = System.nanoTime();
+        }
+        close(transport);
+    }
+
+    /**
+     * Only a lost connection is worth a retry: a message the relay refused,
+     * such as a {@link SendFailedException} for its recipients, would fail again.
+     */
+    private static boolean connectionLost(MessagingException e, Transport transport) {
+        if (e instanceof SendFailedException) {
+            return false;
+        }
+        return e instanceof MailConnectException || !transport.isConnected();
+    }
+
+    /**
+     * Fails the message and returns the connection to keep using, or null
+     * when it can no longer be trusted.
+     */
+    private Transport fail(OutgoingMail mail, Transport transport, Exception e) {
+        failures.increment();
+        log.error("❌ Failed to send email: {}", e.getMessage());
+        mail.result().completeExceptionally(e);
+        if (e instanceof SendFailedException && transport != null && transport.isConnected()) {
+            return transport;
+        }
+        close(transport);
+        return null;
+    }
+
+    private void send(Transport transport, OutgoingMail mail) throws MessagingException {
+        MimeMessage message = mail.message();
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        Timer.Sample sample = Timer.start();
+        transport.sendMessage(message, message.getAllRecipients());
+        sample.stop(sendDuration);
+        deliveryLatency.record(System.nanoTime() - mail.enqueuedAt(), TimeUnit.NANOSECONDS);
+        mail.result().complete(null);
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private static void close(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Spaces sends evenly: each caller reserves the next free slot and sleeps until it.
+     */
+    private static final class RateLimiter {
+
+        private final long intervalNanos;
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        private RateLimiter(double permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (1_000_000_000L / permitsPerSecond) : 0;
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlot.getAndUpdate(next -> Math.max(next, now) + intervalNanos), now);
+            long wait = slot - now;
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.devbuild.notificationservice.service;
+
+/**
+ * The record can never be processed as is (malformed payload, unknown
+ * recipient): it goes straight to the dead-letter topic.
+ */
+public class NonRetryableNotificationException extends RuntimeException {
+
+    public NonRetryableNotificationException(String message) {
+        super(message);
+    }
+
+    public NonRetryableNotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,140 +2,326 @@ package com.devbuild.notificationservice.service;
 
 import com.devbuild.notificationservice.client.SoutenanceServiceClient;
 import com.devbuild.notificationservice.client.UserServiceClient;
+import com.devbuild.notificationservice.config.DigestProperties;
+import com.devbuild.notificationservice.config.KafkaConsumerConfig;
 import com.devbuild.notificationservice.dto.DemandeInfo;
 import com.devbuild.notificationservice.dto.DossierStatusChangedEvent;
+import com.devbuild.notificationservice.dto.SoutenanceStatusChangedEvent;
 import com.devbuild.notificationservice.dto.UserResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationListener {
 
+    private static final int SUPPORTED_SOUTENANCE_SCHEMA = 1;
+    private static final String DOSSIER_TOPIC = "dossier-status-changed";
+    // Longer waits are split so the container re-checks regularly
+    private static final long MAX_PAUSE_MILLIS = 30_000;
+
     private final EmailService emailService;
     private final PdfGeneratorService pdfService;
     private final UserServiceClient userServiceClient;
     private final SoutenanceServiceClient soutenanceClient;
     private final ObjectMapper objectMapper;
+    private final OrderedRecordProcessor recordProcessor;
+    private final EmailTemplateRenderer templateRenderer;
+    private final NotificationRetryPublisher retryPublisher;
+    private final ProcessedEventStore processedEvents;
+    private final DigestService digestService;
+    private final DigestProperties digestProperties;
+
+    /**
+     * Inscription events, consumed in batches: records of the same dossier are
+     * handled in order, different dossiers in parallel.
+     */
+    @KafkaListener(topics = DOSSIER_TOPIC, groupId = "notification-group-FINAL",
+            containerFactory = KafkaConsumerConfig.BATCH_FACTORY)
+    public void handleDossierEvents(List<ConsumerRecord<String, String>> records) {
+        log.info("📥 Received {} dossier events", records.size());
+        recordProcessor.process(records, this::deliver);
+    }
+
+    /**
+     * Soutenance events, consumed in batches and ordered per demande.
+     */
+    @KafkaListener(topics = {"soutenance-authorisee", "demande-submitted", "soutenance-planified"},
+            groupId = "notification-group-FINAL", containerFactory = KafkaConsumerConfig.BATCH_FACTORY)
+    public void handleSoutenanceEvents(List<ConsumerRecord<String, String>> records) {
+        log.info("📥 Received {} soutenance events", records.size());
+        recordProcessor.process(records, this::deliver);
+    }
+
+    /**
+     * Retry tiers: each topic holds records with the same delay, so they become
+     * due in order. A record not yet due is nacked, which pauses the consumer of
+     * that tier until then; each tier has its own container (see
+     * {@link com.devbuild.notificationservice.config.RetryListenerConfig}), so the
+     * other tiers keep flowing.
+     */
+    public void handleRetry(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        long wait = NotificationRetryPublisher.dueAt(record) - System.currentTimeMillis();
+        if (wait > 0) {
+            ack.nack(Duration.ofMillis(Math.min(wait, MAX_PAUSE_MILLIS)));
+            return;
+        }
+        log.info("🔁 Retrying notification from {} (attempt {})",
+                NotificationRetryPublisher.originalTopic(record), NotificationRetryPublisher.attempt(record));
+        deliver(record);
+        ack.acknowledge();
+    }
+
+    /**
+     * Handles one record and, on failure, forwards it to the next retry topic
+     * (or the DLT) instead of blocking the partition or dropping it.
+     */
+    void deliver(ConsumerRecord<String, String> record) {
+        String topic = NotificationRetryPublisher.originalTopic(record);
+        try {
+            if (DOSSIER_TOPIC.equals(topic)) {
+                handleDossierEvent(record.value());
+            } else {
+                handleSoutenanceEvent(topic, record);
+            }
+        } catch (FeignException e) {
+            // 4xx: the user or demande does not exist, retrying will not help
+            retryPublisher.retry(record, e.status() >= 400 && e.status() < 500
+                    ? new NonRetryableNotificationException(e.getMessage(), e) : e);
+        } catch (Exception e) {
+            retryPublisher.retry(record, e);
+        }
+    }
 
     /**
      * Handles Inscription Events (JSON String).
      * We manually parse the JSON to avoid "Poison Pill" loops in Kafka.
      */
-    @KafkaListener(topics = "dossier-status-changed", groupId = "notification-group-FINAL")
-    public void handleDossierEvent(String eventJson) {
-        try {
-            log.info("📥 RAW Message received: {}", eventJson);
+    void handleDossierEvent(String eventJson) {
+        log.info("📥 RAW Message received: {}", eventJson);
 
-            // 1. Manually Parse JSON to DTO
-            DossierStatusChangedEvent event = objectMapper.readValue(eventJson, DossierStatusChangedEvent.class);
+        // 1. Manually Parse JSON to DTO
+        DossierStatusChangedEvent event = parse(eventJson, DossierStatusChangedEvent.class);
 
-            log.info("✅ Parsed Event: ID={} | Statut={} | Sujet={}",
-                    event.getDossierId(), event.getNouveauStatut(), event.getSujetThese());
+        log.info("✅ Parsed Event: ID={} | Statut={} | Sujet={}",
+                event.getDossierId(), event.getNouveauStatut(), event.getSujetThese());
 
-            // 2. Fetch User Info
-            UserResponse user = userServiceClient.getUserById(event.getDoctorantId());
-            if (user == null || user.getEmail() == null) {
-                log.warn("⚠️ User info not found for ID: {}", event.getDoctorantId());
-                return;
-            }
+        String eventId = "dossier:" + event.getDossierId() + ":" + event.getEventType() + ":" + event.getTimestamp();
+        if (processedEvents.isProcessed(eventId)) {
+            log.info("⏭️ Dossier event {} already notified, skipping", eventId);
+            return;
+        }
 
-            String email = user.getEmail();
-            String fullName = user.getPrenom() + " " + user.getNom();
+        // 2. Fetch User Info
+        UserResponse user = userServiceClient.getUserById(event.getDoctorantId());
+        if (user == null || user.getEmail() == null) {
+            throw new NonRetryableNotificationException("User info not found for ID: " + event.getDoctorantId());
+        }
 
-            // 3. Process Logic
-            if ("VALIDE".equals(event.getNouveauStatut())) {
-                log.info("📄 Generating Attestation for {}", email);
+        String email = user.getEmail();
+        String fullName = user.getPrenom() + " " + user.getNom();
 
-                byte[] pdf = pdfService.generateAttestationInscription(fullName, String.valueOf(LocalDate.now().getYear()));
+        // 3. Doctorant email, marked on its own so a retry of the directeur step does not resend it
+        String doctorantEventId = eventId + ":doctorant";
+        boolean doctorantNotified = processedEvents.isProcessed(doctorantEventId);
+        if (doctorantNotified) {
+            log.info("⏭️ Doctorant already notified for {}", eventId);
+        }
+        else if ("VALIDE".equals(event.getNouveauStatut())) {
+            log.info("📄 Generating Attestation for {}", email);
 
-                String body = "<h1>Félicitations " + user.getPrenom() + "</h1>" +
-                        "<p>Votre inscription a été validée par l'administration.</p>" +
-                        "<p>Veuillez trouver ci-joint votre <b>Attestation d'inscription</b>.</p>";
+            byte[] pdf = pdfService.generateAttestationInscription(fullName, String.valueOf(LocalDate.now().getYear()));
 
-                emailService.sendEmailWithAttachment(email, "Votre Attestation d'Inscription", body, pdf, "attestation_inscription.pdf");
-            }
-            else if ("REJETE".equals(event.getNouveauStatut())) {
-                String body = "<h1>Bonjour " + user.getPrenom() + "</h1>" +
-                        "<p>Votre dossier a été rejeté.</p>" +
-                        "<p><b>Motif :</b> " + event.getCommentaire() + "</p>";
+            String body = templateRenderer.render(EmailTemplate.DOSSIER_VALIDE, Collections.singletonMap("prenom", user.getPrenom()));
 
-                emailService.sendEmail(email, "Mise à jour de votre dossier", body);
-            }
+            // Wait for the relay: a failed send must go through the retry topics
+            emailService.sendEmailWithAttachment(email, EmailTemplate.DOSSIER_VALIDE.getSubject(), body, pdf, "attestation_inscription.pdf").join();
+        }
+        else if ("REJETE".equals(event.getNouveauStatut())) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("prenom", user.getPrenom());
+            variables.put("motif", event.getCommentaire());
+            String body = templateRenderer.render(EmailTemplate.DOSSIER_REJETE, variables);
 
-        } catch (Exception e) {
-            // 🛑 CATCH ALL EXCEPTIONS to prevent Infinite Loop in Kafka
-            // This marks the message as "processed" even if it failed, so Kafka moves on.
-            log.error("❌ Error processing dossier event. Skipping message.", e);
+            emailService.sendEmail(email, EmailTemplate.DOSSIER_REJETE.getSubject(), body).join();
         }
+        if (!doctorantNotified) {
+            processedEvents.markProcessed(doctorantEventId);
+        }
+
+        // 4. The directeur follows every status change when enabled, possibly through the digest
+        notifyDirecteur(event, eventId, fullName);
+        processedEvents.markProcessed(eventId);
+    }
+
+    private void notifyDirecteur(DossierStatusChangedEvent event, String eventId, String doctorantName) {
+        if (!digestProperties.isNotifyStakeholders() || event.getDirecteurId() == null) {
+            return;
+        }
+        UserResponse directeur = userServiceClient.getUserById(event.getDirecteurId());
+        if (directeur == null || directeur.getEmail() == null) {
+            log.warn("⚠️ No email for directeur {}, dossier {} not reported", event.getDirecteurId(), event.getDossierId());
+            return;
+        }
+        StringBuilder line = new StringBuilder("Dossier #").append(event.getDossierId())
+                .append(" de ").append(doctorantName).append(" : ");
+        if (event.getAncienStatut() != null) {
+            line.append(event.getAncienStatut()).append(" → ");
+        }
+        line.append(event.getNouveauStatut());
+        if (event.getCommentaire() != null && !event.getCommentaire().isBlank()) {
+            line.append(" (").append(event.getCommentaire()).append(")");
+        }
+        digestService.notify(directeur.getEmail(), directeur.getPrenom(), event.getNouveauStatut(), eventId, line.toString());
     }
 
     /**
-     * Handles Soutenance Events (Payload is usually just an ID string).
+     * Handles Soutenance Events: a full SoutenanceStatusChangedEvent keyed by demandeId.
+     * Legacy payloads (a bare id) and demandes without a stored email still go
+     * through the soutenance/user services.
      */
-    @KafkaListener(topics = {"soutenance-authorisee", "demande-submitted", "soutenance-planified"}, groupId = "notification-group-FINAL")
-    public void handleSoutenanceEvent(ConsumerRecord<String, String> record) {
-        String topic = record.topic();
+    void handleSoutenanceEvent(String topic, ConsumerRecord<String, String> record) {
         String payload = record.value();
 
-        log.info("📥 Soutenance Event received: Topic={}, Payload={}", topic, payload);
-
-        try {
-            // Clean payload (remove quotes if it came as "123")
-            String cleanId = payload.replace("\"", "");
-            Long demandeId = Long.parseLong(cleanId);
+        log.info("📥 Soutenance Event received: Topic={}, Key={}, Payload={}", topic, record.key(), payload);
 
-            // 1. Fetch Demande Details
-            DemandeInfo demande = soutenanceClient.getDemandeInfo(demandeId);
+        // 1. Parse the event (or wrap a legacy bare id)
+        SoutenanceStatusChangedEvent event = parseSoutenanceEvent(payload);
 
-            // 2. Fetch User Details
-            UserResponse user = userServiceClient.getUserById(demande.getDoctorantId());
+        // Legacy payloads have no event id, there is one such event per demande and topic
+        String eventId = event.getEventId() != null
+                ? "soutenance:" + event.getEventId()
+                : "soutenance:" + topic + ":" + event.getDemandeId();
+        if (processedEvents.isProcessed(eventId)) {
+            log.info("⏭️ Soutenance event {} already notified, skipping", eventId);
+            return;
+        }
 
-            if (user == null || user.getEmail() == null) {
-                log.warn("⚠️ User info not found for Doctorant ID: {}", demande.getDoctorantId());
-                return;
-            }
+        // 2. Only call back when the event does not carry the recipient
+        if (event.getDoctorantEmail() == null && !completeFromServices(event)) {
+            throw new NonRetryableNotificationException("User info not found for Doctorant ID: " + event.getDoctorantId());
+        }
 
-            String fullName = user.getPrenom() + " " + user.getNom();
-            String email = user.getEmail();
+        String fullName = event.getDoctorantPrenom() + " " + event.getDoctorantNom();
+        String email = event.getDoctorantEmail();
 
-            // 3. Handle specific topics
+        // 3. Handle specific topics, waiting for the relay so that failures are retried
+        String doctorantEventId = eventId + ":doctorant";
+        if (!processedEvents.isProcessed(doctorantEventId)) {
             switch (topic) {
                 case "demande-submitted":
-                    emailService.sendEmail(email, "Accusé de réception",
-                            "<h1>Bonjour " + user.getPrenom() + "</h1>" +
-                                    "<p>Votre demande de soutenance a bien été reçue.</p>");
+                    emailService.sendEmail(email, EmailTemplate.DEMANDE_RECUE.getSubject(),
+                            templateRenderer.render(EmailTemplate.DEMANDE_RECUE, Collections.singletonMap("prenom", event.getDoctorantPrenom()))).join();
                     break;
 
                 case "soutenance-authorisee":
                     byte[] pdf = pdfService.generateAutorisationSoutenance(fullName, "À planifier", null, null);
-                    emailService.sendEmailWithAttachment(email, "Soutenance Autorisée !",
-                            "<h1>Félicitations !</h1><p>Votre soutenance est autorisée.</p>",
-                            pdf, "autorisation_soutenance.pdf");
+                    emailService.sendEmailWithAttachment(email, EmailTemplate.SOUTENANCE_AUTORISEE.getSubject(),
+                            templateRenderer.render(EmailTemplate.SOUTENANCE_AUTORISEE, Map.of()),
+                            pdf, "autorisation_soutenance.pdf").join();
                     break;
 
                 case "soutenance-planified":
-                    String dateStr = (demande.getDateSoutenance() != null) ? demande.getDateSoutenance().toString() : "N/A";
-                    String timeStr = (demande.getHeureSoutenance() != null) ? demande.getHeureSoutenance().toString() : "N/A";
-                    byte[] pdfPlanif = pdfService.generateAutorisationSoutenance(fullName, dateStr, timeStr, demande.getLieuSoutenance());
-                    emailService.sendEmailWithAttachment(email, "Convocation à la soutenance",
-                            "<h1>Convocation</h1>" +
-                                    "<p>Votre soutenance est prévue le <b>" + dateStr + "</b>.</p>",
-                            pdfPlanif, "convocation.pdf");
+                    String dateStr = (event.getDateSoutenance() != null) ? event.getDateSoutenance().toString() : "N/A";
+                    String timeStr = (event.getHeureSoutenance() != null) ? event.getHeureSoutenance().toString() : "N/A";
+                    byte[] pdfPlanif = pdfService.generateAutorisationSoutenance(fullName, dateStr, timeStr, event.getLieuSoutenance());
+                    Map<String, Object> convocation = new HashMap<>();
+                    convocation.put("date", dateStr);
+                    convocation.put("heure", event.getHeureSoutenance() != null ? timeStr : null);
+                    convocation.put("lieu", event.getLieuSoutenance());
+                    emailService.sendEmailWithAttachment(email, EmailTemplate.SOUTENANCE_PLANIFIEE.getSubject(),
+                            templateRenderer.render(EmailTemplate.SOUTENANCE_PLANIFIEE, convocation),
+                            pdfPlanif, "convocation.pdf").join();
                     break;
             }
+            processedEvents.markProcessed(doctorantEventId);
+        }
+
+        // 4. Admins follow the soutenance workflow when enabled, possibly through the digest
+        if (digestProperties.isNotifyStakeholders()) {
+            String line = soutenanceLine(topic, event, fullName);
+            for (String adminEmail : digestProperties.getAdminEmails()) {
+                digestService.notify(adminEmail, null, topic, eventId, line);
+            }
+        }
+        processedEvents.markProcessed(eventId);
+    }
 
+    private static String soutenanceLine(String topic, SoutenanceStatusChangedEvent event, String doctorantName) {
+        return switch (topic) {
+            case "demande-submitted" -> "Nouvelle demande de soutenance #" + event.getDemandeId() + " de " + doctorantName;
+            case "soutenance-authorisee" -> "Soutenance autorisée pour la demande #" + event.getDemandeId() + " (" + doctorantName + ")";
+            case "soutenance-planified" -> "Soutenance de " + doctorantName + " planifiée le "
+                    + (event.getDateSoutenance() != null ? event.getDateSoutenance() : "N/A")
+                    + (event.getHeureSoutenance() != null ? " à " + event.getHeureSoutenance() : "")
+                    + (event.getLieuSoutenance() != null ? " (" + event.getLieuSoutenance() + ")" : "");
+            default -> "Demande de soutenance #" + event.getDemandeId() + " : " + topic;
+        };
+    }
+
+    private <T> T parse(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
         } catch (Exception e) {
-            // 🛑 CATCH ALL EXCEPTIONS
-            log.error("❌ Error processing soutenance event", e);
+            throw new NonRetryableNotificationException("Malformed " + type.getSimpleName() + " payload", e);
+        }
+    }
+
+    private SoutenanceStatusChangedEvent parseSoutenanceEvent(String payload) {
+        if (payload == null) {
+            throw new NonRetryableNotificationException("Empty soutenance payload");
+        }
+        String trimmed = payload.trim();
+        if (trimmed.startsWith("{")) {
+            SoutenanceStatusChangedEvent event = parse(trimmed, SoutenanceStatusChangedEvent.class);
+            if (event.getSchemaVersion() > SUPPORTED_SOUTENANCE_SCHEMA) {
+                log.warn("⚠️ Soutenance event schema v{} is newer than v{}, reading known fields only",
+                        event.getSchemaVersion(), SUPPORTED_SOUTENANCE_SCHEMA);
+            }
+            return event;
+        }
+
+        // Legacy message: clean payload (remove quotes if it came as "123")
+        SoutenanceStatusChangedEvent event = new SoutenanceStatusChangedEvent();
+        try {
+            event.setDemandeId(Long.parseLong(trimmed.replace("\"", "")));
+        } catch (NumberFormatException e) {
+            throw new NonRetryableNotificationException("Malformed legacy soutenance payload: " + trimmed, e);
+        }
+        return event;
+    }
+
+    private boolean completeFromServices(SoutenanceStatusChangedEvent event) {
+        if (event.getDoctorantId() == null) {
+            DemandeInfo demande = soutenanceClient.getDemandeInfo(event.getDemandeId());
+            event.setDoctorantId(demande.getDoctorantId());
+            event.setDateSoutenance(demande.getDateSoutenance());
+            event.setHeureSoutenance(demande.getHeureSoutenance());
+            event.setLieuSoutenance(demande.getLieuSoutenance());
+        }
+
+        UserResponse user = userServiceClient.getUserById(event.getDoctorantId());
+        if (user == null || user.getEmail() == null) {
+            return false;
         }
+        event.setDoctorantEmail(user.getEmail());
+        event.setDoctorantNom(user.getNom());
+        event.setDoctorantPrenom(user.getPrenom());
+        return true;
     }
-}
\ No newline at end of file
+}
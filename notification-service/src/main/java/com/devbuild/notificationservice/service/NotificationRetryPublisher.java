@@ -0,0 +1,122 @@
+package com.devbuild.notificationservice.service;
+
+import com.devbuild.notificationservice.config.NotificationRetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards a failed record to the next retry topic, or to the dead-letter topic
+ * once the attempts are exhausted. The send is awaited so that the source offset
+ * is only committed once the record is safely forwarded.
+ */
+@Component
+@Slf4j
+public class NotificationRetryPublisher {
+
+    public static final String ORIGINAL_TOPIC = "x-notification-original-topic";
+    public static final String ATTEMPT = "x-notification-attempt";
+    public static final String DUE_AT = "x-notification-due-at";
+    public static final String ERROR = "x-notification-error";
+
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final NotificationRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public NotificationRetryPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                      NotificationRetryProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void retry(ConsumerRecord<String, String> record, Exception error) {
+        int attempt = attempt(record);
+        if (error instanceof NonRetryableNotificationException || attempt >= properties.getAttempts()) {
+            deadLetter(record, error);
+            return;
+        }
+
+        Duration delay = properties.delay(attempt);
+        String topic = properties.topic(attempt);
+        ProducerRecord<String, String> retry = forward(record, topic, error);
+        retry.headers().add(ATTEMPT, bytes(String.valueOf(attempt + 1)));
+        retry.headers().add(DUE_AT, bytes(String.valueOf(System.currentTimeMillis() + delay.toMillis())));
+        send(retry);
+
+        meterRegistry.counter("notification.retry.published", "topic", originalTopic(record)).increment();
+        log.warn("⚠️ Notification from {} failed (attempt {}), retrying in {}: {}",
+                originalTopic(record), attempt + 1, delay, error.getMessage());
+    }
+
+    private void deadLetter(ConsumerRecord<String, String> record, Exception error) {
+        ProducerRecord<String, String> dead = forward(record, NotificationRetryProperties.DLT_TOPIC, error);
+        dead.headers().add(ATTEMPT, bytes(String.valueOf(attempt(record))));
+        send(dead);
+
+        meterRegistry.counter("notification.dlt.published", "topic", originalTopic(record)).increment();
+        log.error("❌ Notification from {} sent to {} after {} attempts: {}",
+                originalTopic(record), NotificationRetryProperties.DLT_TOPIC, attempt(record) + 1, error.getMessage());
+    }
+
+    public static String originalTopic(ConsumerRecord<String, String> record) {
+        String original = header(record.headers(), ORIGINAL_TOPIC);
+        return original != null ? original : record.topic();
+    }
+
+    public static int attempt(ConsumerRecord<String, String> record) {
+        String attempt = header(record.headers(), ATTEMPT);
+        return attempt != null ? Integer.parseInt(attempt) : 0;
+    }
+
+    public static long dueAt(ConsumerRecord<String, String> record) {
+        String dueAt = header(record.headers(), DUE_AT);
+        return dueAt != null ? Long.parseLong(dueAt) : 0;
+    }
+
+    static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private ProducerRecord<String, String> forward(ConsumerRecord<String, String> record, String topic, Exception error) {
+        ProducerRecord<String, String> forwarded = new ProducerRecord<>(topic, record.key(), record.value());
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("x-notification-")) {
+                forwarded.headers().add(header);
+            }
+        }
+        forwarded.headers().add(ORIGINAL_TOPIC, bytes(originalTopic(record)));
+        String message = String.valueOf(error.getMessage());
+        forwarded.headers().add(ERROR, bytes(message.length() > 500 ? message.substring(0, 500) : message));
+        return forwarded;
+    }
+
+    private void send(ProducerRecord<String, String> record) {
+        try {
+            kafkaTemplate.send(record).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while forwarding to " + record.topic(), e);
+        } catch (Exception e) {
+            // Fails the batch: the container redelivers it, the idempotency store skips what was sent
+            throw new IllegalStateException("Could not forward record to " + record.topic(), e);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package com.devbuild.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Processes a polled batch on virtual threads: one task per record key, so records
+ * sharing a key (same dossier, same demande) keep their partition order while
+ * different keys run in parallel. The call returns once the whole batch is done,
+ * so the container only commits offsets of processed records. A record whose
+ * handler throws fails the batch, which the container then redelivers.
+ */
+@Component
+@Slf4j
+public class OrderedRecordProcessor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final MeterRegistry meterRegistry;
+
+    public OrderedRecordProcessor(MeterRegistry meterRegistry,
+                                  @Value("${notification.worker.max-in-flight:50}") int maxInFlight) {
+        this.meterRegistry = meterRegistry;
+        // Bounds concurrent Feign/SMTP work, virtual threads themselves are cheap
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public void process(List<ConsumerRecord<String, String>> records, Consumer<ConsumerRecord<String, String>> handler) {
+        Map<String, List<ConsumerRecord<String, String>>> byKey = new LinkedHashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            // Keyless records have no ordering guarantee to preserve
+            String key = record.key() != null
+                    ? record.topic() + "/" + record.key()
+                    : record.topic() + "@" + record.partition() + ":" + record.offset();
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+        }
+
+        List<Future<?>> tasks = new ArrayList<>(byKey.size());
+        for (List<ConsumerRecord<String, String>> sameKey : byKey.values()) {
+            tasks.add(executor.submit(() -> sameKey.forEach(record -> processOne(record, handler))));
+        }
+
+        Throwable failure = null;
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing batch", e);
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure != null) {
+            // Let the container redeliver the batch; already delivered events are skipped on the way
+            throw new IllegalStateException("Batch processing failed", failure);
+        }
+        log.debug("Processed batch of {} records over {} keys", records.size(), byKey.size());
+    }
+
+    private void processOne(ConsumerRecord<String, String> record, Consumer<ConsumerRecord<String, String>> handler) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            inFlight.acquire();
+            try {
+                handler.accept(record);
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordMetrics(record, sample, "interrupted");
+            // The handler never ran: fail the batch so the record is redelivered, not committed
+            throw new IllegalStateException("Interrupted before processing record "
+                    + record.topic() + "-" + record.partition() + "@" + record.offset(), e);
+        } catch (RuntimeException e) {
+            // Handlers route their own failures to the retry topics: this record could not even be forwarded
+            log.error("❌ Error processing record {}-{}@{}", record.topic(), record.partition(), record.offset(), e);
+            outcome = "error";
+            recordMetrics(record, sample, outcome);
+            // Stops the remaining records of this key so their order is kept on redelivery
+            throw e;
+        }
+        recordMetrics(record, sample, outcome);
+    }
+
+    private void recordMetrics(ConsumerRecord<String, String> record, Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("notification.record.processing")
+                .description("Time spent handling one notification record")
+                .tag("topic", record.topic())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        // End-to-end: from the producer timestamp to the notification being handled
+        Timer.builder("notification.record.latency")
+                .description("Delay between record production and end of processing")
+                .tag("topic", record.topic())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - record.timestamp())));
+        if (!"success".equals(outcome)) {
+            Counter.builder("notification.record.failures")
+                    .tag("topic", record.topic())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,68 +1,198 @@
 package com.devbuild.notificationservice.service;
 
-import com.lowagie.text.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfStamper;
 import com.lowagie.text.pdf.PdfWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Generates the attestation and authorisation PDFs by stamping the variable
+ * fields onto a base document rendered once at startup. Fonts are shared
+ * BaseFonts. Output is cached by a hash of the document type and its field
+ * values, so a re-delivered event gets the same bytes without regenerating.
+ */
 @Service
+@Slf4j
 public class PdfGeneratorService {
 
-    public byte[] generateAttestationInscription(String studentName, String academicYear) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Document document = new Document();
-            PdfWriter.getInstance(document, out);
+    private static final String CACHE_NAME = "pdf-documents";
 
-            document.open();
+    private static final float MARGIN = 72;
+    private static final float CENTER = PageSize.A4.getWidth() / 2;
 
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
-            Paragraph title = new Paragraph("ATTESTATION D'INSCRIPTION", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
+    private static final BaseFont HELVETICA = font(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_BOLD = font(BaseFont.HELVETICA_BOLD);
 
-            document.add(new Paragraph("\n\n"));
+    private record Field(float x, float y, BaseFont font, float size) {
+    }
 
-            Font contentFont = FontFactory.getFont(FontFactory.HELVETICA, 12);
-            document.add(new Paragraph("Nous soussignés, administration du CED, certifions que :", contentFont));
-            document.add(new Paragraph("\nNom et Prénom : " + studentName, FontFactory.getFont(FontFactory.HELVETICA_BOLD)));
-            document.add(new Paragraph("\nEst régulièrement inscrit(e) en Doctorat pour l'année universitaire : " + academicYear, contentFont));
+    private record BaseTemplate(byte[] pdf, Map<String, Field> fields) {
+    }
 
-            document.add(new Paragraph("\n\nFait le : " + LocalDate.now()));
-            document.add(new Paragraph("\n\nSignature de l'administration"));
+    private final BaseTemplate attestation;
+    private final BaseTemplate autorisation;
+    private final Cache<String, byte[]> cache;
 
-            document.close();
+    public PdfGeneratorService(MeterRegistry meterRegistry,
+                               @Value("${notification.pdf.cache.max-bytes:52428800}") long maxBytes,
+                               @Value("${notification.pdf.cache.expire-after:PT6H}") Duration expireAfter) {
+        this.attestation = buildAttestation();
+        this.autorisation = buildAutorisation();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, byte[] pdf) -> pdf.length)
+                .expireAfterAccess(expireAfter)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("📄 PDF base templates ready: attestation={} bytes, autorisation={} bytes",
+                attestation.pdf().length, autorisation.pdf().length);
+    }
+
+    public byte[] generateAttestationInscription(String studentName, String academicYear) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("name", studentName);
+        values.put("year", academicYear);
+        values.put("date", LocalDate.now().toString());
+        return render("attestation", attestation, values);
+    }
+
+    public byte[] generateAutorisationSoutenance(String studentName, String date, String time, String location) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("name", studentName);
+        values.put("date", date != null ? date : "À définir");
+        values.put("time", time != null ? time : "--:--");
+        values.put("location", location != null ? location : "À définir");
+        return render("autorisation", autorisation, values);
+    }
+
+    private byte[] render(String type, BaseTemplate template, Map<String, String> values) {
+        return cache.get(cacheKey(type, values), key -> stamp(template, values));
+    }
+
+    private static byte[] stamp(BaseTemplate template, Map<String, String> values) {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(template.pdf().length + 1024)) {
+            PdfReader reader = new PdfReader(template.pdf());
+            PdfStamper stamper = new PdfStamper(reader, out);
+            PdfContentByte canvas = stamper.getOverContent(1);
+            canvas.beginText();
+            values.forEach((name, value) -> {
+                Field field = template.fields().get(name);
+                canvas.setFontAndSize(field.font(), field.size());
+                canvas.showTextAligned(Element.ALIGN_LEFT, value, field.x(), field.y(), 0);
+            });
+            canvas.endText();
+            stamper.close();
+            reader.close();
             return out.toByteArray();
         } catch (Exception e) {
-            throw new RuntimeException("Error creating PDF", e);
+            throw new RuntimeException("Error generating PDF", e);
         }
     }
 
+    private static BaseTemplate buildAttestation() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        byte[] pdf = base(canvas -> {
+            text(canvas, HELVETICA_BOLD, 20, Element.ALIGN_CENTER, "ATTESTATION D'INSCRIPTION", CENTER, 760);
+            text(canvas, HELVETICA, 12, Element.ALIGN_LEFT,
+                    "Nous soussignés, administration du CED, certifions que :", MARGIN, 680);
+            fields.put("name", label(canvas, HELVETICA_BOLD, 12, "Nom et Prénom : ", 650));
+            fields.put("year", label(canvas, HELVETICA, 12,
+                    "Est régulièrement inscrit(e) en Doctorat pour l'année universitaire : ", 620));
+            fields.put("date", label(canvas, HELVETICA, 12, "Fait le : ", 560));
+            text(canvas, HELVETICA, 12, Element.ALIGN_LEFT, "Signature de l'administration", MARGIN, 500);
+        });
+        return new BaseTemplate(pdf, fields);
+    }
 
-    public byte[] generateAutorisationSoutenance(String studentName, String date, String time, String location) {
+    private static BaseTemplate buildAutorisation() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        byte[] pdf = base(canvas -> {
+            text(canvas, HELVETICA_BOLD, 18, Element.ALIGN_CENTER, "AUTORISATION DE SOUTENANCE", CENTER, 760);
+            fields.put("name", label(canvas, HELVETICA, 12, "Le candidat : ", 690));
+            text(canvas, HELVETICA, 12, Element.ALIGN_LEFT, "Est autorisé à soutenir sa thèse.", MARGIN, 672);
+            fields.put("date", label(canvas, HELVETICA, 12, "Date : ", 636));
+            fields.put("time", label(canvas, HELVETICA, 12, "Heure : ", 618));
+            fields.put("location", label(canvas, HELVETICA, 12, "Lieu : ", 600));
+            text(canvas, HELVETICA, 12, Element.ALIGN_LEFT, "Signature du Doyen", MARGIN, 540);
+        });
+        return new BaseTemplate(pdf, fields);
+    }
+
+    private static byte[] base(Consumer<PdfContentByte> layout) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Document document = new Document();
-            PdfWriter.getInstance(document, out);
+            Document document = new Document(PageSize.A4);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
             document.open();
+            layout.accept(writer.getDirectContent());
+            // Only direct content was written, make sure the page is emitted
+            writer.setPageEmpty(false);
+            document.close();
+            return out.toByteArray();
+        } catch (Exception e) {
+            throw new IllegalStateException("Error creating PDF base template", e);
+        }
+    }
 
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
-            Paragraph title = new Paragraph("AUTORISATION DE SOUTENANCE", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            document.add(title);
+    /**
+     * Writes a static label and returns where its value goes, right after it.
+     */
+    private static Field label(PdfContentByte canvas, BaseFont font, float size, String label, float y) {
+        text(canvas, font, size, Element.ALIGN_LEFT, label, MARGIN, y);
+        return new Field(MARGIN + font.getWidthPoint(label, size), y, font, size);
+    }
 
-            document.add(new Paragraph("\n\n"));
-            document.add(new Paragraph("Le candidat : " + studentName));
-            document.add(new Paragraph("Est autorisé à soutenir sa thèse."));
-            document.add(new Paragraph("\nDate : " + (date != null ? date : "À définir")));
-            document.add(new Paragraph("Heure : " + (time != null ? time : "--:--")));
-            document.add(new Paragraph("Lieu : " + (location != null ? location : "À définir")));
+    private static void text(PdfContentByte canvas, BaseFont font, float size, int alignment,
+                             String text, float x, float y) {
+        canvas.beginText();
+        canvas.setFontAndSize(font, size);
+        canvas.showTextAligned(alignment, text, x, y, 0);
+        canvas.endText();
+    }
 
-            document.add(new Paragraph("\n\nSignature du Doyen"));
-            document.close();
-            return out.toByteArray();
+    private static String cacheKey(String type, Map<String, String> values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(type.getBytes(StandardCharsets.UTF_8));
+            for (String value : values.values()) {
+                // Separator so that ("ab", "c") and ("a", "bc") differ
+                digest.update((byte) 0);
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static BaseFont font(String name) {
+        try {
+            // CP1252 covers French accents with the standard, non-embedded Type 1 fonts
+            return BaseFont.createFont(name, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
         } catch (Exception e) {
-            throw new RuntimeException("Error generating PDF", e);
+            throw new IllegalStateException("Cannot load font " + name, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.devbuild.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Ids of events whose notification has been delivered, in the local H2 file
+ * database. Checked before sending so that redeliveries, retries and DLT replays
+ * never send the same email or PDF twice. An id is recorded after the mail has
+ * been accepted: a crash in between can still resend once (at-least-once).
+ */
+@Component
+@Slf4j
+public class ProcessedEventStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+
+    public ProcessedEventStore(JdbcTemplate jdbcTemplate,
+                               @Value("${notification.idempotency.retention:P30D}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS processed_events (" +
+                "event_id VARCHAR(255) PRIMARY KEY, " +
+                "processed_at TIMESTAMP NOT NULL)");
+    }
+
+    public boolean isProcessed(String eventId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM processed_events WHERE event_id = ?", Integer.class, eventId);
+        return count != null && count > 0;
+    }
+
+    public void markProcessed(String eventId) {
+        jdbcTemplate.update("MERGE INTO processed_events (event_id, processed_at) KEY (event_id) VALUES (?, ?)",
+                eventId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Scheduled(cron = "${notification.idempotency.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        int purged = jdbcTemplate.update("DELETE FROM processed_events WHERE processed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (purged > 0) {
+            log.info("Purged {} processed event ids older than {}", purged, retention);
+        }
+    }
+}
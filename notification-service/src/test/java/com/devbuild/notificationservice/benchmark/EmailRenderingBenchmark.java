@@ -0,0 +1,115 @@
+package com.devbuild.notificationservice.benchmark;
+
+import com.devbuild.notificationservice.service.EmailTemplate;
+import com.devbuild.notificationservice.service.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the cached template renderer against the string concatenation
+ * the listener used before. Not run by surefire; launch with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.devbuild.notificationservice.benchmark.EmailRenderingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EmailRenderingBenchmark {
+
+    // State fields, not constants: the JIT must not fold the concatenations
+    private String prenom = "Yasmine";
+    private String motif = "Pièces justificatives incomplètes";
+    private String date = "2026-06-15";
+
+    private EmailTemplateRenderer renderer;
+    private Map<String, Object> rejet;
+    private Map<String, Object> convocation;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(engine);
+
+        rejet = new HashMap<>();
+        rejet.put("prenom", prenom);
+        rejet.put("motif", motif);
+        convocation = new HashMap<>();
+        convocation.put("date", date);
+        convocation.put("heure", "10:00");
+        convocation.put("lieu", "Amphi A");
+    }
+
+    @Benchmark
+    public String concatenationValide() {
+        return "<h1>Félicitations " + prenom + "</h1>" +
+                "<p>Votre inscription a été validée par l'administration.</p>" +
+                "<p>Veuillez trouver ci-joint votre <b>Attestation d'inscription</b>.</p>";
+    }
+
+    @Benchmark
+    public String templateValide() {
+        return renderer.render(EmailTemplate.DOSSIER_VALIDE, Map.of("prenom", prenom));
+    }
+
+    @Benchmark
+    public String concatenationRejete() {
+        return "<h1>Bonjour " + prenom + "</h1>" +
+                "<p>Votre dossier a été rejeté.</p>" +
+                "<p><b>Motif :</b> " + motif + "</p>";
+    }
+
+    @Benchmark
+    public String templateRejete() {
+        return renderer.render(EmailTemplate.DOSSIER_REJETE, rejet);
+    }
+
+    @Benchmark
+    public String concatenationPlanifiee() {
+        return "<h1>Convocation</h1>" +
+                "<p>Votre soutenance est prévue le <b>" + date + "</b>.</p>";
+    }
+
+    @Benchmark
+    public String templatePlanifiee() {
+        return renderer.render(EmailTemplate.SOUTENANCE_PLANIFIEE, convocation);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailRenderingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.devbuild.notificationservice.service;
+
+import com.devbuild.notificationservice.config.MailDispatcherProperties;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void sendsQueuedMessagesOverPooledConnections() throws Exception {
+        CountingSender sender = new CountingSender();
+        dispatcher = new MailDispatcher(sender, properties(0), meterRegistry);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(dispatcher.submit(message("doctorant" + i + "@test.local")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(20, greenMail.getReceivedMessages().length);
+        assertEquals(20, meterRegistry.get("mail.send.duration").timer().count());
+        assertEquals(0, meterRegistry.get("mail.send.failures").counter().count());
+        // 2 workers, 5 messages per connection: at most ceil(a/5) + ceil(b/5) with a + b = 20
+        assertTrue(sender.connections.get() >= 4 && sender.connections.get() <= 5,
+                "connections opened: " + sender.connections.get());
+    }
+
+    @Test
+    void keepsWorkingAfterAnUnexpectedError() throws Exception {
+        MailDispatcherProperties properties = properties(0);
+        properties.setWorkers(1);
+        dispatcher = new MailDispatcher(sender(), properties, meterRegistry);
+
+        MimeMessage broken = new MimeMessage(sender().getSession()) {
+            @Override
+            public void saveChanges() {
+                throw new IllegalStateException("boom");
+            }
+        };
+        CompletableFuture<Void> failed = dispatcher.submit(broken);
+        CompletableFuture<Void> next = dispatcher.submit(message("doctorant@test.local"));
+
+        assertTrue(failed.handle((ok, error) -> error instanceof IllegalStateException).get(10, TimeUnit.SECONDS));
+        next.get(10, TimeUnit.SECONDS);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(1, meterRegistry.get("mail.send.failures").counter().count());
+    }
+
+    @Test
+    void respectsRateLimit() throws Exception {
+        dispatcher = dispatcher(10);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            results.add(dispatcher.submit(message("doctorant" + i + "@test.local")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // 11 sends at 10/s: the last one cannot leave before ~1s
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 900);
+        assertEquals(11, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void failsFutureWhenRelayIsUnreachable() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(1);
+        dispatcher = new MailDispatcher(sender, properties(0), meterRegistry);
+
+        CompletableFuture<Void> result = dispatcher.submit(sender.createMimeMessage());
+
+        assertTrue(result.handle((ok, error) -> error != null).join());
+        assertEquals(1, meterRegistry.get("mail.send.failures").counter().count());
+    }
+
+    private MailDispatcher dispatcher(double ratePerSecond) {
+        return new MailDispatcher(sender(), properties(ratePerSecond), meterRegistry);
+    }
+
+    private static MailDispatcherProperties properties(double ratePerSecond) {
+        MailDispatcherProperties properties = new MailDispatcherProperties();
+        properties.setWorkers(2);
+        properties.setQueueCapacity(50);
+        properties.setRatePerSecond(ratePerSecond);
+        properties.setMaxMessagesPerConnection(5);
+        properties.setIdleTimeout(Duration.ofSeconds(1));
+        return properties;
+    }
+
+    private static JavaMailSenderImpl sender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    /**
+     * The dispatcher asks for the session once per SMTP connection it opens.
+     */
+    private static final class CountingSender extends JavaMailSenderImpl {
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private CountingSender() {
+            setHost("localhost");
+            setPort(ServerSetupTest.SMTP.getPort());
+        }
+
+        @Override
+        public synchronized Session getSession() {
+            connections.incrementAndGet();
+            return super.getSession();
+        }
+    }
+
+    private static MimeMessage message(String to) throws Exception {
+        MimeMessage message = sender().createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("ced@test.local");
+        helper.setTo(to);
+        helper.setSubject("Accusé de réception");
+        helper.setText("<p>Votre demande a bien été reçue.</p>", true);
+        return message;
+    }
+}
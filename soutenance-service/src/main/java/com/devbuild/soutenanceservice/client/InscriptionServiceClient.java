@@ -1,14 +1,21 @@
 package com.devbuild.soutenanceservice.client;
 
+import com.devbuild.soutenanceservice.domain.dto.response.InscriptionDateResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @FeignClient(name = "inscription-service")
 public interface InscriptionServiceClient {
 
     @GetMapping("/api/dossiers/{doctorantId}/initial-date")
     LocalDate getInitialInscriptionDate(@PathVariable Long doctorantId);
+
+    @GetMapping("/api/dossiers/inscription-dates")
+    List<InscriptionDateResponse> getInscriptionDates(@RequestParam(required = false) Long afterDoctorantId,
+                                                      @RequestParam Integer size);
 }
@@ -0,0 +1,20 @@
+package com.devbuild.soutenanceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "manuscrit.analyse")
+public class AnalyseManuscritProperties {
+    private int workers = 2;
+    private int capaciteFile = 50; // bounded queue; overflow stays EN_ATTENTE in the database
+    private int maxTentatives = 3;
+    private Duration delaiTentative = Duration.ofMinutes(5); // doubled on each retry
+    private Duration delaiBlocage = Duration.ofMinutes(30); // EN_COURS older than this is requeued
+    private int maxCaracteresTexte = 1_000_000;
+    private float dpiVignette = 48f;
+}
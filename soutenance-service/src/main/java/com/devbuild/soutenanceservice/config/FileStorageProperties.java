@@ -4,9 +4,14 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @Data
 @ConfigurationProperties(prefix = "file")
 public class FileStorageProperties {
     private String uploadDir = "uploads/soutenances";
+    private String stagingDir = "uploads/staging";
+    private long maxSize = 100L * 1024 * 1024; // 100MB, manuscripts included
+    private Duration sessionTtl = Duration.ofHours(24);
 }
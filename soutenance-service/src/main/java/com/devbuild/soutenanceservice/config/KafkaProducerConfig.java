@@ -1,25 +1,55 @@
 package com.devbuild.soutenanceservice.config;
 
+import com.devbuild.soutenanceservice.kafka.event.SoutenanceStatusChangedEvent;
+import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Configuration
 public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${soutenance.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${soutenance.kafka.replicas:1}")
+    private short replicas;
+
+    /**
+     * Topics produced here are declared here: the partition count of a keyed
+     * topic is its owner's decision, consumers only subscribe.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics soutenanceTopics() {
+        return new KafkaAdmin.NewTopics(Stream.of(
+                        SoutenanceEventProducer.TOPIC_DEMANDE_SUBMITTED,
+                        SoutenanceEventProducer.TOPIC_JURY_PROPOSED,
+                        SoutenanceEventProducer.TOPIC_SOUTENANCE_AUTORISEE,
+                        SoutenanceEventProducer.TOPIC_SOUTENANCE_PLANIFIED,
+                        SoutenanceEventProducer.TOPIC_RAPPORT_OK,
+                        SoutenanceEventProducer.TOPIC_DUREE_ALERTE,
+                        SoutenanceEventProducer.TOPIC_DEMANDE_REJETEE)
+                .map(name -> TopicBuilder.name(name).partitions(partitions).replicas(replicas).build())
+                .toArray(NewTopic[]::new));
+    }
+
     @Bean
-    public ProducerFactory<String, Long> producerFactory() {
+    public ProducerFactory<String, SoutenanceStatusChangedEvent> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
@@ -30,7 +60,7 @@ public class KafkaProducerConfig {
     }
 
     @Bean
-    public KafkaTemplate<String, Long> kafkaTemplate() {
+    public KafkaTemplate<String, SoutenanceStatusChangedEvent> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 }
@@ -0,0 +1,26 @@
+package com.devbuild.soutenanceservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "planning")
+public class PlanningProperties {
+    private Duration dureeSoutenance = Duration.ofHours(2);
+    private Duration pas = Duration.ofMinutes(30); // granularity of suggested slots
+    private LocalTime heureDebut = LocalTime.of(8, 30);
+    private LocalTime heureFin = LocalTime.of(18, 0);
+    private Set<DayOfWeek> joursOuvres = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+    private int horizonJours = 120; // how far ahead suggestions and bulk planning search
+    private List<String> salles = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.devbuild.soutenanceservice.config;
+
+import com.devbuild.common.upload.UploadPolicy;
+import com.devbuild.soutenanceservice.service.FileStorageService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class UploadConfig {
+
+    @Bean
+    public UploadPolicy uploadPolicy(FileStorageProperties properties) {
+        return new UploadPolicy(
+                properties.getStagingDir(),
+                properties.getMaxSize(),
+                properties.getSessionTtl(),
+                Set.copyOf(FileStorageService.ALLOWED_CONTENT_TYPES));
+    }
+}
@@ -0,0 +1,41 @@
+package com.devbuild.soutenanceservice.controller;
+
+import com.devbuild.soutenanceservice.domain.dto.response.AnalyseManuscritResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
+import com.devbuild.soutenanceservice.domain.entity.AnalyseManuscrit;
+import com.devbuild.soutenanceservice.exception.ResourceNotFoundException;
+import com.devbuild.soutenanceservice.service.AnalyseManuscritService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/soutenances")
+@RequiredArgsConstructor
+public class AnalyseManuscritController {
+
+    private final AnalyseManuscritService service;
+
+    @GetMapping("/{demandeId}/analyse")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DIRECTEUR')")
+    public ResponseEntity<ApiResponse<AnalyseManuscritResponse>> getAnalyse(@PathVariable Long demandeId) {
+        AnalyseManuscrit analyse = service.getAnalyse(demandeId);
+        return ResponseEntity.ok(ApiResponse.success(AnalyseManuscritResponse.fromEntity(analyse)));
+    }
+
+    @GetMapping("/{demandeId}/analyse/vignette")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DIRECTEUR')")
+    public ResponseEntity<Resource> getVignette(@PathVariable Long demandeId) {
+        AnalyseManuscrit analyse = service.getAnalyse(demandeId);
+        if (analyse.getVignettePath() == null) {
+            throw new ResourceNotFoundException("Vignette non disponible pour la demande " + demandeId);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .body(new FileSystemResource(analyse.getVignettePath()));
+    }
+}
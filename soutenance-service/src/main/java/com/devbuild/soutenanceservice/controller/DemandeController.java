@@ -1,16 +1,22 @@
 package com.devbuild.soutenanceservice.controller;
 
+import com.devbuild.common.security.VerifiedToken;
 import com.devbuild.soutenanceservice.domain.dto.request.DemandeSubmissionRequest;
 import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
 import com.devbuild.soutenanceservice.domain.dto.response.DemandeResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.DemandeSummaryResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.PageResponse;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
 import com.devbuild.soutenanceservice.service.DemandeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -24,12 +30,13 @@ public class DemandeController {
     @PreAuthorize("hasRole('DOCTORANT')")
     public ResponseEntity<ApiResponse<DemandeResponse>> submitDemande(
             @RequestPart("request") DemandeSubmissionRequest request,
-            @RequestPart("manuscrit") MultipartFile manuscrit,
-            @RequestPart("documents") List<MultipartFile> documents,
+            @RequestPart(value = "manuscrit", required = false) MultipartFile manuscrit,
+            @RequestPart(value = "documents", required = false) List<MultipartFile> documents,
             Authentication authentication) {
 
         Long doctorantId = Long.parseLong(authentication.getName());
-        DemandeResponse response = demandeService.submitDemande(request, manuscrit, documents, doctorantId);
+        VerifiedToken identite = authentication.getCredentials() instanceof VerifiedToken token ? token : null;
+        DemandeResponse response = demandeService.submitDemande(request, manuscrit, documents, doctorantId, identite);
 
 
         return ResponseEntity.ok(ApiResponse.success(response));
@@ -51,8 +58,17 @@ public class DemandeController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DIRECTEUR')")
-    public ResponseEntity<ApiResponse<List<DemandeResponse>>> getAllDemandes() {
-        List<DemandeResponse> responses = demandeService.getAllDemandes();
+    public ResponseEntity<ApiResponse<PageResponse<DemandeSummaryResponse>>> searchDemandes(
+            @RequestParam(required = false) StatutDemande statut,
+            @RequestParam(required = false) Long doctorantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate soumisDu,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate soumisAu,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate soutenanceDu,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate soutenanceAu,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PageResponse<DemandeSummaryResponse> responses = demandeService.searchDemandes(statut, doctorantId,
+                soumisDu, soumisAu, soutenanceDu, soutenanceAu, page, size);
         return ResponseEntity.ok(ApiResponse.success(responses));
     }
 
@@ -0,0 +1,23 @@
+package com.devbuild.soutenanceservice.controller;
+
+import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
+import com.devbuild.soutenanceservice.service.InscriptionProjectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/soutenances/admin/inscriptions")
+@RequiredArgsConstructor
+public class InscriptionProjectionController {
+
+    private final InscriptionProjectionService service;
+
+    @PostMapping("/sync")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> synchroniser() {
+        int total = service.synchroniser();
+        return ResponseEntity.ok(ApiResponse.success("Dates d'inscription synchronisées", total));
+    }
+}
@@ -1,13 +1,20 @@
 package com.devbuild.soutenanceservice.controller;
 
 import com.devbuild.soutenanceservice.domain.dto.request.PlanificationRequest;
+import com.devbuild.soutenanceservice.domain.dto.request.PlanificationSessionRequest;
 import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.CreneauResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.PlanificationSessionResponse;
 import com.devbuild.soutenanceservice.service.PlanificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/soutenances")
 @RequiredArgsConstructor
@@ -24,4 +31,24 @@ public class PlanificationController {
         service.planifierSoutenance(demandeId, request);
         return ResponseEntity.ok(ApiResponse.success("Soutenance planifiée avec succès", null));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{demandeId}/planification/suggestions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<CreneauResponse>>> suggererCreneaux(
+            @PathVariable Long demandeId,
+            @RequestParam(required = false) String salle,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate aPartirDu,
+            @RequestParam(defaultValue = "5") int nombre
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(service.suggererCreneaux(demandeId, salle, aPartirDu, nombre)));
+    }
+
+    @PostMapping("/planification/session")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PlanificationSessionResponse>> planifierSession(
+            @RequestBody PlanificationSessionRequest request
+    ) {
+        PlanificationSessionResponse response = service.planifierSession(request);
+        return ResponseEntity.ok(ApiResponse.success("Session planifiée", response));
+    }
+}
@@ -19,7 +19,7 @@ public class RapportController {
     @PostMapping("/{demandeId}/rapport")
     @PreAuthorize("hasRole('DIRECTEUR')")
     public ResponseEntity<ApiResponse<Void>> uploadRapport(@PathVariable Long demandeId, @RequestPart("rapport") MultipartFile rapport, @RequestPart("request") RapportUploadRequest request) {
-        service.uploadRapport(demandeId, rapport, request.isFavorable());
+        service.uploadRapport(demandeId, rapport, request.getRapporteurId(), request.isFavorable());
         return ResponseEntity.ok(ApiResponse.success("Rapport déposé avec succès", null));
     }
 }
@@ -0,0 +1,23 @@
+package com.devbuild.soutenanceservice.controller;
+
+import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.StatistiquesResponse;
+import com.devbuild.soutenanceservice.service.StatistiqueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/soutenances")
+@RequiredArgsConstructor
+public class StatistiqueController {
+
+    private final StatistiqueService service;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<StatistiquesResponse>> getStatistiques() {
+        return ResponseEntity.ok(ApiResponse.success(service.getStatistiques()));
+    }
+}
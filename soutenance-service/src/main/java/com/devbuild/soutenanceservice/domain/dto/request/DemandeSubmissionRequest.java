@@ -2,9 +2,15 @@ package com.devbuild.soutenanceservice.domain.dto.request;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class DemandeSubmissionRequest {
     private int nbArticlesQ1Q2;
     private int nbConferences;
     private int heuresFormation;
+
+    // Completed upload sessions (see /api/soutenances/uploads), alternative to the multipart parts
+    private String manuscritUploadId;
+    private List<String> documentUploadIds;
 }
@@ -0,0 +1,17 @@
+package com.devbuild.soutenanceservice.domain.dto.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class PlanificationSessionRequest {
+
+    // Placed in this order, each on the earliest free slot
+    private List<Long> demandeIds;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    // Defaults to planning.salles when empty
+    private List<String> salles;
+}
@@ -4,5 +4,7 @@ import lombok.Data;
 
 @Data
 public class RapportUploadRequest {
+    // Id of the RAPPORTEUR member of the jury who wrote the report
+    private Long rapporteurId;
     private boolean favorable;
 }
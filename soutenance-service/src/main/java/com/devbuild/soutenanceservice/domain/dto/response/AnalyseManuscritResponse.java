@@ -0,0 +1,50 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import com.devbuild.soutenanceservice.domain.entity.AnalyseManuscrit;
+import com.devbuild.soutenanceservice.domain.enums.StatutAnalyse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyseManuscritResponse {
+
+    private static final int LONGUEUR_EXTRAIT = 2000;
+
+    private Long demandeId;
+    private StatutAnalyse statut;
+    private Integer nombrePages;
+    private String titre;
+    private String auteur;
+    private String producteur;
+    private String extrait;
+    private int longueurTexte;
+    private boolean vignetteDisponible;
+    private int tentatives;
+    private String derniereErreur;
+    private LocalDateTime updatedAt;
+
+    public static AnalyseManuscritResponse fromEntity(AnalyseManuscrit analyse) {
+        String texte = analyse.getTexte();
+        return AnalyseManuscritResponse.builder()
+                .demandeId(analyse.getDemandeId())
+                .statut(analyse.getStatut())
+                .nombrePages(analyse.getNombrePages())
+                .titre(analyse.getTitre())
+                .auteur(analyse.getAuteur())
+                .producteur(analyse.getProducteur())
+                .extrait(texte != null && texte.length() > LONGUEUR_EXTRAIT ? texte.substring(0, LONGUEUR_EXTRAIT) : texte)
+                .longueurTexte(texte != null ? texte.length() : 0)
+                .vignetteDisponible(analyse.getVignettePath() != null)
+                .tentatives(analyse.getTentatives())
+                .derniereErreur(analyse.getDerniereErreur())
+                .updatedAt(analyse.getUpdatedAt())
+                .build();
+    }
+}
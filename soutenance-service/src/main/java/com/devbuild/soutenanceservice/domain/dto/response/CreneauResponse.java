@@ -0,0 +1,22 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreneauResponse {
+
+    private Long demandeId;
+    private LocalDate dateSoutenance;
+    private LocalTime heureSoutenance;
+    private LocalTime heureFin;
+    private String lieuSoutenance;
+}
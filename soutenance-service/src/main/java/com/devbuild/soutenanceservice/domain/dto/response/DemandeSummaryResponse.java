@@ -0,0 +1,31 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Ligne de la recherche de demandes, construite directement par la requête JPQL :
+ * ni le prérequis ni le jury ne sont chargés.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandeSummaryResponse {
+
+    private Long id;
+    private Long doctorantId;
+    private StatutDemande statut;
+    private LocalDate dateSubmission;
+    private LocalDate dateSoutenance;
+    private LocalTime heureSoutenance;
+    private String lieuSoutenance;
+    private boolean derrogationDuree;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
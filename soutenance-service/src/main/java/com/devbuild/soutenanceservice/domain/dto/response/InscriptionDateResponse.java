@@ -0,0 +1,19 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InscriptionDateResponse {
+
+    private Long doctorantId;
+    private LocalDate initialInscriptionDate;
+    private Boolean derogationFlag;
+}
@@ -0,0 +1,25 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlanificationSessionResponse {
+
+    @Builder.Default
+    private List<CreneauResponse> planifiees = new ArrayList<>();
+
+    // demandeId -> reason it could not be placed
+    @Builder.Default
+    private Map<Long, String> nonPlanifiees = new LinkedHashMap<>();
+}
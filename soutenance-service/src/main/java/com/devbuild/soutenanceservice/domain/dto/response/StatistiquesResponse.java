@@ -0,0 +1,31 @@
+package com.devbuild.soutenanceservice.domain.dto.response;
+
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatistiquesResponse {
+
+    private Map<StatutDemande, Long> parStatut;
+    private Map<StatutDemande, Etape> etapes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Etape {
+
+        private long sorties;
+        private Double dureeMoyenneJours;
+        // Label of the duration range -> number of demandes that left the stage within it
+        private Map<String, Long> histogramme;
+    }
+}
@@ -0,0 +1,64 @@
+package com.devbuild.soutenanceservice.domain.entity;
+
+import com.devbuild.soutenanceservice.domain.enums.StatutAnalyse;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Résultat de l'analyse en arrière-plan du manuscrit d'une demande :
+ * métadonnées, nombre de pages, texte extrait et vignette de la première page.
+ */
+@Entity
+@Table(name = "analyses_manuscrit", indexes = {
+        @Index(name = "idx_analyse_statut_tentative", columnList = "statut, prochaineTentative")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyseManuscrit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long demandeId;
+
+    @Column(nullable = false)
+    private String cheminFichier;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatutAnalyse statut;
+
+    @Builder.Default
+    private int tentatives = 0;
+
+    private LocalDateTime prochaineTentative;
+
+    private Integer nombrePages;
+
+    private String titre;
+
+    private String auteur;
+
+    private String producteur;
+
+    @Column(columnDefinition = "TEXT")
+    @ToString.Exclude
+    private String texte;
+
+    private String vignettePath;
+
+    @Column(length = 1000)
+    private String derniereErreur;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -19,7 +19,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "demandes_soutenance")
+@Table(name = "demandes_soutenance", indexes = {
+        @Index(name = "idx_demande_statut_submission", columnList = "statut, dateSubmission"),
+        @Index(name = "idx_demande_doctorant", columnList = "doctorantId"),
+        @Index(name = "idx_demande_date_soutenance", columnList = "dateSoutenance")
+})
 public class DemandeSoutenance {
 
     @Id
@@ -29,6 +33,13 @@ public class DemandeSoutenance {
     @Column(nullable = false)
     private Long doctorantId;
 
+    // Copied from the JWT at submission so events are self-contained
+    private String doctorantEmail;
+
+    private String doctorantNom;
+
+    private String doctorantPrenom;
+
     @Column(nullable = false)
     private String manuscritPath;
 
@@ -43,6 +54,9 @@ public class DemandeSoutenance {
     @Builder.Default
     private StatutDemande statut = StatutDemande.EN_ATTENTE_PREREQUIS;
 
+    // When the current statut was entered, for the stage-duration statistics
+    private LocalDateTime statutChangedAt;
+
     @Column(nullable = false)
     private LocalDate dateSubmission;
 
@@ -55,14 +69,16 @@ public class DemandeSoutenance {
     @Builder.Default
     private boolean derrogationDuree = false;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "prerequis_id")
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Prerequis prerequis;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "jury_id")
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Jury jury;
 
     @CreatedDate
@@ -0,0 +1,39 @@
+package com.devbuild.soutenanceservice.domain.entity;
+
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Histogramme des durées passées dans chaque statut, une ligne par tranche
+ * (voir StatistiqueService.TRANCHES).
+ */
+@Entity
+@Table(name = "histogrammes_etape")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogrammeEtape {
+
+    @EmbeddedId
+    private Cle cle;
+
+    @Column(nullable = false)
+    private long nombre;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cle implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 30)
+        private StatutDemande statut;
+
+        private int tranche;
+    }
+}
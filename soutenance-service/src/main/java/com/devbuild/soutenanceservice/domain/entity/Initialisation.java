@@ -0,0 +1,25 @@
+package com.devbuild.soutenanceservice.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marqueur des initialisations à n'exécuter qu'une fois, toutes instances confondues.
+ */
+@Entity
+@Table(name = "initialisations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Initialisation {
+
+    @Id
+    @Column(length = 50)
+    private String cle;
+
+    @Column(nullable = false)
+    private LocalDateTime effectueeLe;
+}
@@ -0,0 +1,33 @@
+package com.devbuild.soutenanceservice.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Copie locale de la date d'inscription initiale de chaque doctorant, alimentée par
+ * les événements "dossier-status-changed" d'inscription-service.
+ */
+@Entity
+@Table(name = "inscription_projections")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InscriptionProjection {
+
+    @Id
+    private Long doctorantId;
+
+    @Column(nullable = false)
+    private LocalDate initialInscriptionDate;
+
+    // Re-enrollment derogation from inscription-service; does not waive the soutenance duration limit
+    @Column(nullable = false)
+    private Boolean derogationFlag;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,7 @@ package com.devbuild.soutenanceservice.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,4 +26,21 @@ public class Jury {
 
     @Builder.Default
     private boolean rapportsFavorables = false;
+
+    // Maintained by JuryRepository.incrementRapports, never through the entity
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int rapportsRecus = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int rapportsFavorablesCount = 0;
+
+    // Number of RAPPORTEUR members; 0 for juries created before it was tracked
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int rapportsAttendus = 0;
 }
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "rapports")
+@Table(name = "rapports", uniqueConstraints = {
+        // One report per rapporteur: a re-upload must not count twice towards rapportsRecus
+        @UniqueConstraint(name = "uk_rapport_demande_rapporteur", columnNames = {"demande_id", "rapporteur_id"})
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,4 +28,11 @@ public class Rapport {
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private DemandeSoutenance demandeSoutenance;
+
+    // Null for reports uploaded before rapporteurs were tracked
+    @ManyToOne
+    @JoinColumn(name = "rapporteur_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MembreJury rapporteur;
 }
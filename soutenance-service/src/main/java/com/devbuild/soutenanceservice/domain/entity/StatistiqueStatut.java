@@ -0,0 +1,32 @@
+package com.devbuild.soutenanceservice.domain.entity;
+
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Compteurs par statut, tenus à jour à chaque transition : nombre de demandes
+ * actuellement dans le statut, et cumul des durées passées par celles qui en sont sorties.
+ */
+@Entity
+@Table(name = "statistiques_statut")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatistiqueStatut {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private StatutDemande statut;
+
+    @Column(nullable = false)
+    private long enCours;
+
+    @Column(nullable = false)
+    private long sorties;
+
+    @Column(nullable = false)
+    private long dureeTotaleSecondes;
+}
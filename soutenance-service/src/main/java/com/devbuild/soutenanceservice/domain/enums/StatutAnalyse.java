@@ -0,0 +1,9 @@
+package com.devbuild.soutenanceservice.domain.enums;
+
+public enum StatutAnalyse {
+    EN_ATTENTE,
+    EN_COURS,
+    TERMINEE,
+    ILLISIBLE,
+    ECHEC
+}
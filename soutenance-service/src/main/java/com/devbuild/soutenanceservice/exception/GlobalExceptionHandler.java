@@ -1,5 +1,8 @@
 package com.devbuild.soutenanceservice.exception;
 
+import com.devbuild.common.upload.InvalidUploadException;
+import com.devbuild.common.upload.UploadConflictException;
+import com.devbuild.common.upload.UploadNotFoundException;
 import com.devbuild.soutenanceservice.domain.dto.response.ApiResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +44,48 @@ public class GlobalExceptionHandler{
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ResponseEntity<ApiResponse> handleUploadNotFound(UploadNotFoundException ex) {
+        ApiResponse response = new ApiResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<ApiResponse> handleInvalidUpload(InvalidUploadException ex) {
+        ApiResponse response = new ApiResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UploadConflictException.class)
+    public ResponseEntity<ApiResponse> handleUploadConflict(UploadConflictException ex) {
+        ApiResponse response = new ApiResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        response.setData(ex.getExpectedOffset());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PlanningConflictException.class)
+    public ResponseEntity<ApiResponse> handlePlanningConflict(PlanningConflictException ex) {
+        ApiResponse response = new ApiResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        response.setData(ex.getConflits());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(RapportDejaDeposeException.class)
+    public ResponseEntity<ApiResponse> handleRapportDejaDepose(RapportDejaDeposeException ex) {
+        ApiResponse response = new ApiResponse();
+        response.setSuccess(false);
+        response.setMessage(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ApiResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
         ApiResponse response = new ApiResponse();
@@ -0,0 +1,21 @@
+package com.devbuild.soutenanceservice.exception;
+
+import java.util.List;
+
+/**
+ * Créneau déjà occupé par la salle ou par au moins un membre du jury.
+ * {@code conflits} décrit chaque réservation en collision.
+ */
+public class PlanningConflictException extends RuntimeException {
+
+    private final List<String> conflits;
+
+    public PlanningConflictException(String message, List<String> conflits) {
+        super(message);
+        this.conflits = conflits;
+    }
+
+    public List<String> getConflits() {
+        return conflits;
+    }
+}
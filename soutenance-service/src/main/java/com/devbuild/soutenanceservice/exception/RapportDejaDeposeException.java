@@ -0,0 +1,10 @@
+package com.devbuild.soutenanceservice.exception;
+
+/**
+ * Le rapporteur a déjà déposé son rapport pour cette demande.
+ */
+public class RapportDejaDeposeException extends RuntimeException {
+    public RapportDejaDeposeException(String message) {
+        super(message);
+    }
+}
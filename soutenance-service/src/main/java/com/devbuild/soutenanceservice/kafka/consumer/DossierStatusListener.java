@@ -0,0 +1,33 @@
+package com.devbuild.soutenanceservice.kafka.consumer;
+
+import com.devbuild.soutenanceservice.kafka.event.DossierStatusChangedEvent;
+import com.devbuild.soutenanceservice.service.InscriptionProjectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DossierStatusListener {
+
+    private final InscriptionProjectionService projectionService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A single group shared by all instances: the projection lives in the database,
+     * so each event only has to be applied once.
+     */
+    @KafkaListener(topics = "dossier-status-changed", groupId = "soutenance-inscription-projection")
+    public void handleDossierStatusChanged(String eventJson) {
+        try {
+            DossierStatusChangedEvent event = objectMapper.readValue(eventJson, DossierStatusChangedEvent.class);
+            projectionService.apply(event);
+        } catch (Exception e) {
+            // Never block the partition on a malformed message
+            log.error("Error processing dossier-status-changed event. Skipping message.", e);
+        }
+    }
+}
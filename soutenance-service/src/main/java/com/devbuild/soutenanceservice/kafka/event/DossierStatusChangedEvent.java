@@ -0,0 +1,24 @@
+package com.devbuild.soutenanceservice.kafka.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Subset of inscription-service's event that the local projection needs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DossierStatusChangedEvent {
+
+    private Long dossierId;
+    private Long doctorantId;
+    private String eventType;
+    private LocalDate initialInscriptionDate;
+    private Boolean derogationFlag;
+}
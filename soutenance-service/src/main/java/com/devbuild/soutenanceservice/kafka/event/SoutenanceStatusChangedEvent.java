@@ -1,11 +1,66 @@
 package com.devbuild.soutenanceservice.kafka.event;
 
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Self-contained snapshot of a demande published on every soutenance topic,
+ * keyed by demandeId. Consumers must ignore unknown fields; bump
+ * {@link #CURRENT_SCHEMA_VERSION} only for incompatible changes.
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class SoutenanceStatusChangedEvent {
 
+    public static final int CURRENT_SCHEMA_VERSION = 1;
+
+    @Builder.Default
+    private int schemaVersion = CURRENT_SCHEMA_VERSION;
+
+    @Builder.Default
+    private String eventId = UUID.randomUUID().toString();
+
+    private String eventType;
+
     private Long demandeId;
+    private Long doctorantId;
+    private String doctorantEmail;
+    private String doctorantNom;
+    private String doctorantPrenom;
+
     private String status;
+    private LocalDate dateSubmission;
+    private LocalDate dateSoutenance;
+    private LocalTime heureSoutenance;
+    private String lieuSoutenance;
     private String motif;
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    public static SoutenanceStatusChangedEvent of(String eventType, DemandeSoutenance demande) {
+        return SoutenanceStatusChangedEvent.builder()
+                .eventType(eventType)
+                .demandeId(demande.getId())
+                .doctorantId(demande.getDoctorantId())
+                .doctorantEmail(demande.getDoctorantEmail())
+                .doctorantNom(demande.getDoctorantNom())
+                .doctorantPrenom(demande.getDoctorantPrenom())
+                .status(demande.getStatut().name())
+                .dateSubmission(demande.getDateSubmission())
+                .dateSoutenance(demande.getDateSoutenance())
+                .heureSoutenance(demande.getHeureSoutenance())
+                .lieuSoutenance(demande.getLieuSoutenance())
+                .build();
+    }
 }
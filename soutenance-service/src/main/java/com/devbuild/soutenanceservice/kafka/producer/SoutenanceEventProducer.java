@@ -1,5 +1,7 @@
 package com.devbuild.soutenanceservice.kafka.producer;
 
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.kafka.event.SoutenanceStatusChangedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
@@ -8,33 +10,48 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SoutenanceEventProducer {
 
-    private final KafkaTemplate<String, Long> kafkaTemplate;
+    public static final String TOPIC_DEMANDE_SUBMITTED = "demande-submitted";
+    public static final String TOPIC_JURY_PROPOSED = "jury-proposed";
+    public static final String TOPIC_SOUTENANCE_AUTORISEE = "soutenance-authorisee";
+    public static final String TOPIC_SOUTENANCE_PLANIFIED = "soutenance-planified";
+    public static final String TOPIC_RAPPORT_OK = "rapport-ok";
+    public static final String TOPIC_DUREE_ALERTE = "duree-alerte";
+    public static final String TOPIC_DEMANDE_REJETEE = "demande-rejetee";
 
-    public void sendDemandeSubmitted(Long demandeId) {
-        kafkaTemplate.send("demande-submitted", demandeId);
+    private final KafkaTemplate<String, SoutenanceStatusChangedEvent> kafkaTemplate;
+
+    public void sendDemandeSubmitted(DemandeSoutenance demande) {
+        send(TOPIC_DEMANDE_SUBMITTED, SoutenanceStatusChangedEvent.of("DEMANDE_SUBMITTED", demande));
+    }
+
+    public void sendJuryProposed(DemandeSoutenance demande) {
+        send(TOPIC_JURY_PROPOSED, SoutenanceStatusChangedEvent.of("JURY_PROPOSED", demande));
     }
 
-    public void sendJuryProposed(Long demandeId) {
-        kafkaTemplate.send("jury-proposed", demandeId);
+    public void sendSoutenanceAuthorisee(DemandeSoutenance demande) {
+        send(TOPIC_SOUTENANCE_AUTORISEE, SoutenanceStatusChangedEvent.of("SOUTENANCE_AUTORISEE", demande));
     }
 
-    public void sendSoutenanceAuthorisee(Long demandeId) {
-        kafkaTemplate.send("soutenance-authorisee", demandeId);
+    public void sendSoutenancePlanified(DemandeSoutenance demande) {
+        send(TOPIC_SOUTENANCE_PLANIFIED, SoutenanceStatusChangedEvent.of("SOUTENANCE_PLANIFIED", demande));
     }
 
-    public void sendSoutenancePlanified(Long demandeId) {
-        kafkaTemplate.send("soutenance-planified", demandeId);
+    public void sendRapportsOk(DemandeSoutenance demande) {
+        send(TOPIC_RAPPORT_OK, SoutenanceStatusChangedEvent.of("RAPPORT_OK", demande));
     }
 
-    public void sendRapportsOk(Long demandeId) {
-        kafkaTemplate.send("rapport-ok", demandeId);
+    public void sendDureeAlerte(DemandeSoutenance demande) {
+        send(TOPIC_DUREE_ALERTE, SoutenanceStatusChangedEvent.of("DUREE_ALERTE", demande));
     }
 
-    public void sendDureeAlerte(Long demandeId) {
-        kafkaTemplate.send("duree->5>", demandeId);
+    public void sendDemandeRejetee(DemandeSoutenance demande, String motif) {
+        SoutenanceStatusChangedEvent event = SoutenanceStatusChangedEvent.of("DEMANDE_REJETEE", demande);
+        event.setMotif(motif);
+        send(TOPIC_DEMANDE_REJETEE, event);
     }
 
-    public void sendDemandeRejetee(Long demandeId) {
-        kafkaTemplate.send("demande-rejetee", demandeId);
+    // Keyed by demandeId so every event of a demande lands on the same partition, in order
+    private void send(String topic, SoutenanceStatusChangedEvent event) {
+        kafkaTemplate.send(topic, String.valueOf(event.getDemandeId()), event);
     }
 }
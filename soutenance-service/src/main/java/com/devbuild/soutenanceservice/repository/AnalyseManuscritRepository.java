@@ -0,0 +1,49 @@
+package com.devbuild.soutenanceservice.repository;
+
+import com.devbuild.soutenanceservice.domain.entity.AnalyseManuscrit;
+import com.devbuild.soutenanceservice.domain.enums.StatutAnalyse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalyseManuscritRepository extends JpaRepository<AnalyseManuscrit, Long> {
+
+    Optional<AnalyseManuscrit> findByDemandeId(Long demandeId);
+
+    /**
+     * Claims a queued analysis; only one worker (on any instance) gets 1.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalyseManuscrit a SET a.statut = :enCours, a.updatedAt = :maintenant " +
+            "WHERE a.id = :id AND a.statut = :enAttente")
+    int reserver(@Param("id") Long id,
+                 @Param("enAttente") StatutAnalyse enAttente,
+                 @Param("enCours") StatutAnalyse enCours,
+                 @Param("maintenant") LocalDateTime maintenant);
+
+    @Query("SELECT a.id FROM AnalyseManuscrit a WHERE a.statut = :statut " +
+            "AND (a.prochaineTentative IS NULL OR a.prochaineTentative <= :maintenant) " +
+            "ORDER BY a.createdAt")
+    List<Long> findIdsEligibles(@Param("statut") StatutAnalyse statut,
+                                @Param("maintenant") LocalDateTime maintenant,
+                                Pageable pageable);
+
+    /**
+     * Puts back analyses whose worker died (crash, redeploy) without finishing.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalyseManuscrit a SET a.statut = :enAttente " +
+            "WHERE a.statut = :enCours AND a.updatedAt < :avant")
+    int libererBloquees(@Param("enCours") StatutAnalyse enCours,
+                        @Param("enAttente") StatutAnalyse enAttente,
+                        @Param("avant") LocalDateTime avant);
+}
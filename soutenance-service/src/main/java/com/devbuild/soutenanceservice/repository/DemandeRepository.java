@@ -1,10 +1,76 @@
 package com.devbuild.soutenanceservice.repository;
 
+import com.devbuild.soutenanceservice.domain.dto.response.DemandeSummaryResponse;
 import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface DemandeRepository extends JpaRepository<DemandeSoutenance, Long> {
     List<DemandeSoutenance> findByDoctorantId(Long doctorantId);
+
+    /**
+     * Constructor projection over the demande columns only: one select plus one count
+     * per page, whatever the page size, and no association is ever loaded.
+     */
+    @Query(value = "SELECT new com.devbuild.soutenanceservice.domain.dto.response.DemandeSummaryResponse(" +
+            "d.id, d.doctorantId, d.statut, d.dateSubmission, d.dateSoutenance, d.heureSoutenance, " +
+            "d.lieuSoutenance, d.derrogationDuree, d.createdAt, d.updatedAt) " +
+            "FROM DemandeSoutenance d " +
+            "WHERE (:statut IS NULL OR d.statut = :statut) " +
+            "AND (:doctorantId IS NULL OR d.doctorantId = :doctorantId) " +
+            "AND (:soumisDu IS NULL OR d.dateSubmission >= :soumisDu) " +
+            "AND (:soumisAu IS NULL OR d.dateSubmission <= :soumisAu) " +
+            "AND (:soutenanceDu IS NULL OR d.dateSoutenance >= :soutenanceDu) " +
+            "AND (:soutenanceAu IS NULL OR d.dateSoutenance <= :soutenanceAu)",
+            countQuery = "SELECT COUNT(d) FROM DemandeSoutenance d " +
+            "WHERE (:statut IS NULL OR d.statut = :statut) " +
+            "AND (:doctorantId IS NULL OR d.doctorantId = :doctorantId) " +
+            "AND (:soumisDu IS NULL OR d.dateSubmission >= :soumisDu) " +
+            "AND (:soumisAu IS NULL OR d.dateSubmission <= :soumisAu) " +
+            "AND (:soutenanceDu IS NULL OR d.dateSoutenance >= :soutenanceDu) " +
+            "AND (:soutenanceAu IS NULL OR d.dateSoutenance <= :soutenanceAu)")
+    Page<DemandeSummaryResponse> search(@Param("statut") StatutDemande statut,
+                                        @Param("doctorantId") Long doctorantId,
+                                        @Param("soumisDu") LocalDate soumisDu,
+                                        @Param("soumisAu") LocalDate soumisAu,
+                                        @Param("soutenanceDu") LocalDate soutenanceDu,
+                                        @Param("soutenanceAu") LocalDate soutenanceAu,
+                                        Pageable pageable);
+
+    @Query("SELECT DISTINCT d FROM DemandeSoutenance d " +
+            "LEFT JOIN FETCH d.jury j LEFT JOIN FETCH j.membres " +
+            "WHERE d.statut = :statut AND d.dateSoutenance >= :depuis " +
+            "AND d.heureSoutenance IS NOT NULL AND d.lieuSoutenance IS NOT NULL")
+    List<DemandeSoutenance> findPlanifieesDepuis(@Param("statut") StatutDemande statut,
+                                                 @Param("depuis") LocalDate depuis);
+
+    /**
+     * Compare-and-set from {@code attendu} to {@code nouveau}, only once every expected
+     * report is in and all of them are favorable. Returns 1 for exactly one caller.
+     */
+    @Modifying
+    @Query("UPDATE DemandeSoutenance d SET d.statut = :nouveau, d.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE d.id = :demandeId AND d.statut = :attendu " +
+            "AND d.jury.id IN (SELECT j.id FROM Jury j " +
+            "WHERE j.rapportsRecus >= j.rapportsAttendus " +
+            "AND j.rapportsFavorablesCount = j.rapportsRecus)")
+    int transitionSiRapportsFavorables(@Param("demandeId") Long demandeId,
+                                       @Param("attendu") StatutDemande attendu,
+                                       @Param("nouveau") StatutDemande nouveau);
+
+    @Query("SELECT d.statut, COUNT(d) FROM DemandeSoutenance d GROUP BY d.statut")
+    List<Object[]> countParStatut();
+
+    @Modifying
+    @Query("UPDATE DemandeSoutenance d SET d.statutChangedAt = COALESCE(d.updatedAt, d.createdAt) " +
+            "WHERE d.statutChangedAt IS NULL")
+    int initialiserStatutChangedAt();
 }
@@ -0,0 +1,16 @@
+package com.devbuild.soutenanceservice.repository;
+
+import com.devbuild.soutenanceservice.domain.entity.HistogrammeEtape;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HistogrammeEtapeRepository extends JpaRepository<HistogrammeEtape, HistogrammeEtape.Cle> {
+
+    @Modifying
+    @Query(value = "INSERT INTO histogrammes_etape (statut, tranche, nombre) VALUES (:statut, :tranche, 1) " +
+            "ON CONFLICT (statut, tranche) DO UPDATE SET nombre = histogrammes_etape.nombre + 1",
+            nativeQuery = true)
+    void incrementer(@Param("statut") String statut, @Param("tranche") int tranche);
+}
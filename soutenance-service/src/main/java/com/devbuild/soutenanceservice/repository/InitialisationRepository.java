@@ -0,0 +1,20 @@
+package com.devbuild.soutenanceservice.repository;
+
+import com.devbuild.soutenanceservice.domain.entity.Initialisation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface InitialisationRepository extends JpaRepository<Initialisation, String> {
+
+    /**
+     * Returns 1 for exactly one caller; a concurrent caller waits on the key
+     * until the first transaction ends, then gets 0.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO initialisations (cle, effectuee_le) VALUES (:cle, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (cle) DO NOTHING",
+            nativeQuery = true)
+    int marquer(@Param("cle") String cle);
+}
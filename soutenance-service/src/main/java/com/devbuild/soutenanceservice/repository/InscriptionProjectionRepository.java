@@ -0,0 +1,32 @@
+package com.devbuild.soutenanceservice.repository;
+
+import com.devbuild.soutenanceservice.domain.entity.InscriptionProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface InscriptionProjectionRepository extends JpaRepository<InscriptionProjection, Long> {
+
+    /**
+     * Keeps the earliest date ever seen and never revokes a derogation,
+     * so replayed or out-of-order events cannot move the projection backwards.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inscription_projections " +
+            "(doctorant_id, initial_inscription_date, derogation_flag, updated_at) " +
+            "VALUES (:doctorantId, :initialDate, :derogation, now()) " +
+            "ON CONFLICT (doctorant_id) DO UPDATE SET " +
+            "initial_inscription_date = LEAST(inscription_projections.initial_inscription_date, " +
+            "EXCLUDED.initial_inscription_date), " +
+            "derogation_flag = inscription_projections.derogation_flag OR EXCLUDED.derogation_flag, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    void upsert(@Param("doctorantId") Long doctorantId,
+                @Param("initialDate") LocalDate initialDate,
+                @Param("derogation") boolean derogation);
+}
@@ -2,6 +2,22 @@ package com.devbuild.soutenanceservice.repository;
 
 import com.devbuild.soutenanceservice.domain.entity.Jury;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface JuryRepository extends JpaRepository<Jury, Long> {
+
+    /**
+     * Single-statement increment: the row lock also serialises concurrent rapporteurs.
+     */
+    @Modifying
+    @Query("UPDATE Jury j SET j.rapportsRecus = j.rapportsRecus + 1, " +
+            "j.rapportsFavorablesCount = j.rapportsFavorablesCount + :favorableDelta " +
+            "WHERE j.id = :juryId")
+    int incrementRapports(@Param("juryId") Long juryId, @Param("favorableDelta") int favorableDelta);
+
+    @Modifying
+    @Query("UPDATE Jury j SET j.rapportsFavorables = true WHERE j.id = :juryId")
+    int markRapportsFavorables(@Param("juryId") Long juryId);
 }
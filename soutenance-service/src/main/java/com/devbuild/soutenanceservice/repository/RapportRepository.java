@@ -6,4 +6,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface RapportRepository extends JpaRepository<Rapport, Long> {
     long countByDemandeSoutenance_Id(Long demandeSoutenanceId);
     long countByDemandeSoutenanceIdAndFavorable(Long demandeSoutenanceId, boolean favorable);
+    boolean existsByDemandeSoutenanceIdAndRapporteurId(Long demandeSoutenanceId, Long rapporteurId);
 }
@@ -0,0 +1,27 @@
+package com.devbuild.soutenanceservice.repository;
+
+import com.devbuild.soutenanceservice.domain.entity.StatistiqueStatut;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StatistiqueStatutRepository extends JpaRepository<StatistiqueStatut, StatutDemande> {
+
+    @Modifying
+    @Query(value = "INSERT INTO statistiques_statut (statut, en_cours, sorties, duree_totale_secondes) " +
+            "VALUES (:statut, :delta, 0, 0) " +
+            "ON CONFLICT (statut) DO UPDATE SET en_cours = statistiques_statut.en_cours + EXCLUDED.en_cours",
+            nativeQuery = true)
+    void ajouterEnCours(@Param("statut") String statut, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO statistiques_statut (statut, en_cours, sorties, duree_totale_secondes) " +
+            "VALUES (:statut, -1, 1, :secondes) " +
+            "ON CONFLICT (statut) DO UPDATE SET en_cours = statistiques_statut.en_cours - 1, " +
+            "sorties = statistiques_statut.sorties + 1, " +
+            "duree_totale_secondes = statistiques_statut.duree_totale_secondes + EXCLUDED.duree_totale_secondes",
+            nativeQuery = true)
+    void enregistrerSortie(@Param("statut") String statut, @Param("secondes") long secondes);
+}
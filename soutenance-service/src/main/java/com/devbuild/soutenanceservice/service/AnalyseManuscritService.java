@@ -0,0 +1,213 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.config.AnalyseManuscritProperties;
+import com.devbuild.soutenanceservice.domain.entity.AnalyseManuscrit;
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.enums.StatutAnalyse;
+import com.devbuild.soutenanceservice.exception.ResourceNotFoundException;
+import com.devbuild.soutenanceservice.repository.AnalyseManuscritRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyse des manuscrits en arrière-plan par un pool de workers borné.
+ * La table analyses_manuscrit sert de file durable : la file en mémoire n'est
+ * qu'un tampon borné, et ce qui ne peut pas y entrer reste EN_ATTENTE jusqu'au
+ * prochain balayage. La soumission n'attend jamais l'analyse.
+ */
+@Slf4j
+@Service
+public class AnalyseManuscritService {
+
+    private final AnalyseManuscritRepository repository;
+    private final ManuscritAnalyzer analyzer;
+    private final AnalyseManuscritProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public AnalyseManuscritService(AnalyseManuscritRepository repository,
+                                   ManuscritAnalyzer analyzer,
+                                   AnalyseManuscritProperties properties) {
+        this.repository = repository;
+        this.analyzer = analyzer;
+        this.properties = properties;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getCapaciteFile()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "manuscrit-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Full queue: reject, the row stays EN_ATTENTE for the sweeper
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Enregistre l'analyse dans la transaction de la soumission ; elle n'est
+     * confiée aux workers qu'après commit, une fois le fichier à sa place.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void planifier(DemandeSoutenance demande) {
+        LocalDateTime maintenant = LocalDateTime.now();
+        AnalyseManuscrit analyse = repository.save(AnalyseManuscrit.builder()
+                .demandeId(demande.getId())
+                .cheminFichier(demande.getManuscritPath())
+                .statut(StatutAnalyse.EN_ATTENTE)
+                .createdAt(maintenant)
+                .updatedAt(maintenant)
+                .build());
+
+        Long analyseId = analyse.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                soumettre(analyseId);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public AnalyseManuscrit getAnalyse(Long demandeId) {
+        return repository.findByDemandeId(demandeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Aucune analyse pour la demande " + demandeId));
+    }
+
+    /**
+     * Remet dans la file les analyses en attente (débordement, nouvelle tentative due)
+     * et celles dont le worker a disparu, dans la limite de la place disponible.
+     */
+    @Scheduled(fixedDelayString = "${manuscrit.analyse.balayage-ms:60000}")
+    public void balayer() {
+        LocalDateTime maintenant = LocalDateTime.now();
+        int bloquees = repository.libererBloquees(StatutAnalyse.EN_COURS, StatutAnalyse.EN_ATTENTE,
+                maintenant.minus(properties.getDelaiBlocage()));
+        if (bloquees > 0) {
+            log.warn("{} analyses de manuscrit bloquées remises en attente", bloquees);
+        }
+
+        int place = executor.getQueue().remainingCapacity();
+        if (place == 0) {
+            return;
+        }
+        for (Long analyseId : repository.findIdsEligibles(StatutAnalyse.EN_ATTENTE, maintenant, PageRequest.of(0, place))) {
+            if (!soumettre(analyseId)) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        // In-flight work left EN_COURS is requeued by the sweeper after delaiBlocage
+        executor.shutdownNow();
+    }
+
+    private boolean soumettre(Long analyseId) {
+        try {
+            executor.execute(() -> traiter(analyseId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("File d'analyse pleine, analyse {} reprise au prochain balayage", analyseId);
+            return false;
+        }
+    }
+
+    private void traiter(Long analyseId) {
+        // The sweeper and the after-commit hook may both queue the same id
+        if (repository.reserver(analyseId, StatutAnalyse.EN_ATTENTE, StatutAnalyse.EN_COURS, LocalDateTime.now()) == 0) {
+            return;
+        }
+        AnalyseManuscrit analyse = repository.findById(analyseId).orElse(null);
+        if (analyse == null) {
+            return;
+        }
+
+        try {
+            ManuscritAnalyzer.Resultat resultat = analyzer.analyser(Paths.get(analyse.getCheminFichier()));
+            analyse.setNombrePages(resultat.nombrePages());
+            analyse.setTitre(tronquer(sansNul(resultat.titre()), 255));
+            analyse.setAuteur(tronquer(sansNul(resultat.auteur()), 255));
+            analyse.setProducteur(tronquer(sansNul(resultat.producteur()), 255));
+            analyse.setTexte(sansNul(resultat.texte()));
+            analyse.setVignettePath(resultat.vignettePath());
+            analyse.setDerniereErreur(null);
+            analyse.setStatut(StatutAnalyse.TERMINEE);
+            log.info("Manuscrit de la demande {} analysé: {} pages", analyse.getDemandeId(), resultat.nombrePages());
+        } catch (ManuscritAnalyzer.ManuscritIllisibleException e) {
+            analyse.setStatut(StatutAnalyse.ILLISIBLE);
+            analyse.setDerniereErreur(tronquer(e.getMessage(), 1000));
+            log.warn("Manuscrit de la demande {} illisible: {}", analyse.getDemandeId(), e.getMessage());
+        } catch (Exception e) {
+            echec(analyse, e);
+        }
+
+        analyse.setUpdatedAt(LocalDateTime.now());
+        try {
+            repository.save(analyse);
+        } catch (Exception e) {
+            // Left EN_COURS, the row would be requeued by the sweeper forever without counting attempts
+            enregistrerEchec(analyseId, e);
+        }
+    }
+
+    private void enregistrerEchec(Long analyseId, Exception cause) {
+        try {
+            AnalyseManuscrit analyse = repository.findById(analyseId).orElse(null);
+            if (analyse == null) {
+                return;
+            }
+            echec(analyse, cause);
+            analyse.setUpdatedAt(LocalDateTime.now());
+            repository.save(analyse);
+        } catch (Exception e) {
+            log.error("Impossible d'enregistrer l'échec de l'analyse {}: {}", analyseId, e.getMessage());
+        }
+    }
+
+    private void echec(AnalyseManuscrit analyse, Exception e) {
+        int tentatives = analyse.getTentatives() + 1;
+        analyse.setTentatives(tentatives);
+        analyse.setDerniereErreur(tronquer(sansNul(String.valueOf(e.getMessage())), 1000));
+
+        if (tentatives >= properties.getMaxTentatives()) {
+            analyse.setStatut(StatutAnalyse.ECHEC);
+            log.error("Analyse du manuscrit de la demande {} abandonnée après {} tentatives",
+                    analyse.getDemandeId(), tentatives, e);
+        } else {
+            // Exponential backoff: delai, 2 x delai, 4 x delai...
+            Duration delai = properties.getDelaiTentative().multipliedBy(1L << (tentatives - 1));
+            analyse.setStatut(StatutAnalyse.EN_ATTENTE);
+            analyse.setProchaineTentative(LocalDateTime.now().plus(delai));
+            log.warn("Analyse du manuscrit de la demande {} en échec (tentative {}), nouvel essai dans {}",
+                    analyse.getDemandeId(), tentatives, delai, e);
+        }
+    }
+
+    // PostgreSQL text columns reject NUL characters, which PDFBox may extract
+    private static String sansNul(String valeur) {
+        return valeur != null ? valeur.replace("\0", "") : null;
+    }
+
+    private static String tronquer(String valeur, int longueur) {
+        return valeur != null && valeur.length() > longueur ? valeur.substring(0, longueur) : valeur;
+    }
+}
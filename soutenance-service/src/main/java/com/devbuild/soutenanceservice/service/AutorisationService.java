@@ -14,6 +14,7 @@ public class AutorisationService {
 
     private final DemandeRepository repository;
     private final SoutenanceEventProducer eventProducer;
+    private final StatistiqueService statistiqueService;
 
     @Transactional
     public void autoriserSoutenance(Long demandeId) {
@@ -23,9 +24,9 @@ public class AutorisationService {
             throw new IllegalStateException("Rapports non favorables");
         }
 
-        demande.setStatut(StatutDemande.AUTORISEE);
+        statistiqueService.changerStatut(demande, StatutDemande.AUTORISEE);
         repository.save(demande);
 
-        eventProducer.sendSoutenanceAuthorisee(demande.getId());
+        eventProducer.sendSoutenanceAuthorisee(demande);
     }
 }
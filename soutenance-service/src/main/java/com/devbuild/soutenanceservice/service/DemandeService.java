@@ -1,39 +1,64 @@
 package com.devbuild.soutenanceservice.service;
 
+import com.devbuild.common.security.VerifiedToken;
+import com.devbuild.common.upload.UploadSessionService;
 import com.devbuild.soutenanceservice.domain.dto.request.DemandeSubmissionRequest;
 import com.devbuild.soutenanceservice.domain.dto.response.DemandeResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.DemandeSummaryResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.PageResponse;
 import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
 import com.devbuild.soutenanceservice.domain.entity.DocumentSoutenance;
 import com.devbuild.soutenanceservice.domain.entity.Prerequis;
 import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
 import com.devbuild.soutenanceservice.domain.enums.TypeDocumentSoutenance;
+import com.devbuild.soutenanceservice.exception.InvalidFileException;
 import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
 import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import com.devbuild.soutenanceservice.service.FileStorageService.StagedFile;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DemandeService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DemandeRepository repository;
     private final PrerequisService prerequisService;
     private final FileStorageService fileStorageService;
     private final SoutenanceEventProducer eventProducer;
     private final DureeService dureeService;
+    private final UploadSessionService uploadSessionService;
+    private final TransactionTemplate transactionTemplate;
+    private final StatistiqueService statistiqueService;
+    private final AnalyseManuscritService analyseManuscritService;
 
 
-    @Transactional
+    /**
+     * Files are staged before the transaction opens, so the database connection is
+     * only held for the inserts; they reach the doctorant's directory after commit.
+     */
     public DemandeResponse submitDemande(DemandeSubmissionRequest demandeSubmissionRequest,
                                          MultipartFile manuscrit,
                                          List<MultipartFile> documents,
-                                         Long doctorantId) {
+                                         Long doctorantId,
+                                         VerifiedToken identite) {
 
         // 1. STEP ONE: Check Duration Eligibility FIRST (Fail fast)
         // If the student has exceeded the max duration without derogation, stop here.
@@ -50,41 +75,95 @@ public class DemandeService {
         // This throws exception if conditions aren't met
         prerequisService.validatePrerequis(prerequis);
 
-        // 3. STEP THREE: Initialize Demande Entity
-        DemandeSoutenance demande = DemandeSoutenance.builder()
-                .doctorantId(doctorantId)
-                .dateSubmission(LocalDate.now())
-                .statut(StatutDemande.EN_ATTENTE_PREREQUIS)
-                .prerequis(prerequis)
-                .build();
-
-        // 4. STEP FOUR: File Storage (Heavy I/O operation performed only if valid)
-        String manuscritPath = fileStorageService.storeFile(manuscrit, doctorantId);
-        demande.setManuscritPath(manuscritPath);
+        // 3. STEP THREE: Resolve Files
+        // Files come either as multipart parts or as completed upload sessions
+        List<String> uploadIds = new ArrayList<>();
+        if (manuscrit == null && demandeSubmissionRequest.getManuscritUploadId() != null) {
+            uploadIds.add(demandeSubmissionRequest.getManuscritUploadId());
+            manuscrit = uploadSessionService.openCompleted(demandeSubmissionRequest.getManuscritUploadId(), doctorantId);
+        }
+        if (manuscrit == null) {
+            throw new InvalidFileException("Le manuscrit est obligatoire");
+        }
 
+        List<MultipartFile> allDocuments = new ArrayList<>();
         if (documents != null) {
-            for (MultipartFile file : documents) {
-                String path = fileStorageService.storeFile(file, doctorantId);
-                DocumentSoutenance document = DocumentSoutenance.builder()
-                        .path(path)
-                        .type(TypeDocumentSoutenance.DEMANDE_MANUSCRITE)
-                        .demandeSoutenance(demande)
-                        .build();
-                demande.getDocuments().add(document);
+            allDocuments.addAll(documents);
+        }
+        if (demandeSubmissionRequest.getDocumentUploadIds() != null) {
+            for (String uploadId : demandeSubmissionRequest.getDocumentUploadIds()) {
+                uploadIds.add(uploadId);
+                allDocuments.add(uploadSessionService.openCompleted(uploadId, doctorantId));
             }
         }
 
-        // 5. STEP FIVE: Save to Database
-        demande = repository.save(demande);
-
-        // 6. STEP SIX: Check for Alerts (Must be done AFTER save to have the ID)
-        // This sends an alert event if the student is between 5 and 6 years
-        dureeService.verifierAlerte(demande.getId(), doctorantId);
+        // 4. STEP FOUR: Stage Files (Heavy I/O, no transaction open yet)
+        List<StagedFile> staged = new ArrayList<>();
+        try {
+            StagedFile stagedManuscrit = fileStorageService.stage(manuscrit, doctorantId);
+            staged.add(stagedManuscrit);
+            List<StagedFile> stagedDocuments = new ArrayList<>();
+            for (MultipartFile file : allDocuments) {
+                StagedFile stagedDocument = fileStorageService.stage(file, doctorantId);
+                staged.add(stagedDocument);
+                stagedDocuments.add(stagedDocument);
+            }
 
-        // 7. STEP SEVEN: Send Submission Event
-        eventProducer.sendDemandeSubmitted(demande.getId());
+            // 5. STEP FIVE: Save to Database, files are moved into place after commit
+            DemandeSoutenance saved = transactionTemplate.execute(status -> {
+                fileStorageService.promoteAfterCommit(staged);
+
+                DemandeSoutenance demande = DemandeSoutenance.builder()
+                        .doctorantId(doctorantId)
+                        .doctorantEmail(identite != null ? identite.email() : null)
+                        .doctorantNom(identite != null ? identite.nom() : null)
+                        .doctorantPrenom(identite != null ? identite.prenom() : null)
+                        .dateSubmission(LocalDate.now())
+                        .statut(StatutDemande.EN_ATTENTE_PREREQUIS)
+                        .prerequis(prerequis)
+                        .manuscritPath(stagedManuscrit.path())
+                        .build();
+                for (StagedFile stagedDocument : stagedDocuments) {
+                    DocumentSoutenance document = DocumentSoutenance.builder()
+                            .path(stagedDocument.path())
+                            .type(TypeDocumentSoutenance.DEMANDE_MANUSCRITE)
+                            .demandeSoutenance(demande)
+                            .build();
+                    demande.getDocuments().add(document);
+                }
+
+                statistiqueService.enregistrerCreation(demande);
+                demande = repository.save(demande);
+                uploadSessionService.consume(uploadIds, doctorantId);
+                analyseManuscritService.planifier(demande);
+
+                // 6-7. Alert and submission events only leave once the demande is committed
+                publishAfterCommit(demande);
+                return demande;
+            });
+
+            return mapToResponse(saved);
+        } catch (RuntimeException e) {
+            // Rollback already cleans up; this covers failures before the transaction began
+            fileStorageService.discard(staged);
+            throw e;
+        }
+    }
 
-        return mapToResponse(demande);
+    private void publishAfterCommit(DemandeSoutenance demande) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    // Sends an alert event if the student is between 5 and 6 years
+                    dureeService.verifierAlerte(demande);
+                    eventProducer.sendDemandeSubmitted(demande);
+                } catch (RuntimeException e) {
+                    // The demande is saved: report the failure without failing the request
+                    log.error("❌ Failed to publish events for demande {}: {}", demande.getId(), e.getMessage());
+                }
+            }
+        });
     }
 
     public DemandeResponse getDemandeStatus(Long demandeId) {
@@ -110,10 +189,16 @@ public class DemandeService {
 
 
 
-    public List<DemandeResponse> getAllDemandes() {
-        return repository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<DemandeSummaryResponse> searchDemandes(StatutDemande statut, Long doctorantId,
+                                                               LocalDate soumisDu, LocalDate soumisAu,
+                                                               LocalDate soutenanceDu, LocalDate soutenanceAu,
+                                                               int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize,
+                Sort.by(Sort.Direction.DESC, "dateSubmission").and(Sort.by(Sort.Direction.DESC, "id")));
+        return PageResponse.from(repository.search(statut, doctorantId, soumisDu, soumisAu,
+                soutenanceDu, soutenanceAu, pageRequest));
     }
 
     public List<DemandeResponse> getDemandesByDoctorant(Long doctorantId) {
@@ -133,7 +218,7 @@ public class DemandeService {
         }
 
         // Passage à l'étape suivante
-        demande.setStatut(StatutDemande.EN_ATTENTE_JURY);
+        statistiqueService.changerStatut(demande, StatutDemande.EN_ATTENTE_JURY);
         repository.save(demande);
 
     }
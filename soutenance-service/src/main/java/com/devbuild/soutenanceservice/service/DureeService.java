@@ -1,6 +1,7 @@
 package com.devbuild.soutenanceservice.service;
 
-import com.devbuild.soutenanceservice.client.InscriptionServiceClient;
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.InscriptionProjection;
 import com.devbuild.soutenanceservice.exception.DureeDepasseeException;
 import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +10,14 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DureeService {
 
-    private final InscriptionServiceClient inscriptionClient;
+    private final InscriptionProjectionService inscriptionProjectionService;
     private final SoutenanceEventProducer soutenanceEventProducer;
 
     /**
@@ -23,13 +25,14 @@ public class DureeService {
      * Blocks the process if duration > 6 years and no derogation.
      */
     public void validerEligibilite(Long doctorantId, boolean hasDerogation) {
-        LocalDate initialDate = inscriptionClient.getInitialInscriptionDate(doctorantId);
+        Optional<InscriptionProjection> inscription = inscriptionProjectionService.findInscription(doctorantId);
 
-        if (initialDate == null) {
+        if (inscription.isEmpty()) {
             log.warn("Date d'inscription initiale introuvable pour le doctorant {}", doctorantId);
             return; // Or throw exception depending on business rules
         }
 
+        LocalDate initialDate = inscription.get().getInitialInscriptionDate();
         long years = ChronoUnit.YEARS.between(initialDate, LocalDate.now());
 
         log.info("Vérification durée pour doctorant {}: {} ans", doctorantId, years);
@@ -43,8 +46,11 @@ public class DureeService {
      * Called AFTER saving the demand.
      * Sends an alert event if duration > 5 years.
      */
-    public void verifierAlerte(Long demandeId, Long doctorantId) {
-        LocalDate initialDate = inscriptionClient.getInitialInscriptionDate(doctorantId);
+    public void verifierAlerte(DemandeSoutenance demande) {
+        Long doctorantId = demande.getDoctorantId();
+        LocalDate initialDate = inscriptionProjectionService.findInscription(doctorantId)
+                .map(InscriptionProjection::getInitialInscriptionDate)
+                .orElse(null);
 
         if (initialDate == null) return;
 
@@ -52,7 +58,7 @@ public class DureeService {
 
         if (years >= 5) {
             log.warn("Alerte: Le doctorant {} approche de la date limite ({} ans)", doctorantId, years);
-            soutenanceEventProducer.sendDureeAlerte(demandeId);
+            soutenanceEventProducer.sendDureeAlerte(demande);
         }
     }
 }
\ No newline at end of file
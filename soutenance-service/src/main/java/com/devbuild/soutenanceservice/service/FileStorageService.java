@@ -3,26 +3,53 @@ package com.devbuild.soutenanceservice.service;
 import com.devbuild.soutenanceservice.config.FileStorageProperties;
 import com.devbuild.soutenanceservice.exception.InvalidFileException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class FileStorageService {
 
+    public static final List<String> ALLOWED_CONTENT_TYPES = List.of("application/pdf", "image/jpeg", "image/png");
+    private static final String SUBMISSION_STAGING = "submissions";
+
     private final FileStorageProperties properties;
 
+    /**
+     * Fichier écrit dans la zone de transit, avec l'emplacement définitif
+     * qu'il occupera une fois la transaction validée.
+     */
+    public record StagedFile(Path staging, Path target) {
+
+        public String path() {
+            return target.toString();
+        }
+    }
+
     public String storeFile(MultipartFile file, Long doctorantId) {
         validateFile(file);
 
-        String filename = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+        String filename = UUID.randomUUID().toString() + "_" + safeFilename(file);
         Path targetLocation = Paths.get(properties.getUploadDir(), doctorantId.toString(), filename);
 
         try {
@@ -34,13 +61,137 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Écrit le fichier dans la zone de transit, hors de toute transaction.
+     * Il ne rejoint le répertoire du doctorant que via {@link #promoteAfterCommit}.
+     */
+    public StagedFile stage(MultipartFile file, Long doctorantId) {
+        validateFile(file);
+
+        String filename = UUID.randomUUID().toString() + "_" + safeFilename(file);
+        Path staging = Paths.get(properties.getStagingDir(), SUBMISSION_STAGING, filename);
+        Path target = Paths.get(properties.getUploadDir(), doctorantId.toString(), filename);
+
+        try {
+            Files.createDirectories(staging.getParent());
+            file.transferTo(staging);
+            return new StagedFile(staging, target);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not stage file " + filename, ex);
+        }
+    }
+
+    /**
+     * Déplace les fichiers vers leur emplacement définitif après le commit de la
+     * transaction de l'appelant, ou les supprime de la zone de transit si elle est annulée.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void promoteAfterCommit(List<StagedFile> files) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                files.forEach(FileStorageService.this::promote);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    discard(files);
+                }
+            }
+        });
+    }
+
+    public void discard(List<StagedFile> files) {
+        for (StagedFile file : files) {
+            try {
+                Files.deleteIfExists(file.staging());
+            } catch (IOException e) {
+                log.error("Failed to delete staged file {}: {}", file.staging(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Leftovers of submissions interrupted between staging and commit (e.g. a crash).
+     */
+    @Scheduled(cron = "${file.staging-purge-cron:0 0 * * * *}")
+    public void purgeStagedSubmissions() {
+        Path directory = Paths.get(properties.getStagingDir(), SUBMISSION_STAGING);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        FileTime before = FileTime.from(Instant.now().minus(properties.getSessionTtl()));
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> isOlderThan(path, before)).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                    log.info("Purged abandoned staged file {}", path);
+                } catch (IOException e) {
+                    log.error("Failed to delete staged file {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.error("Failed to list staging directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void promote(StagedFile file) {
+        try {
+            Files.createDirectories(file.target().getParent());
+            try {
+                Files.move(file.staging(), file.target(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Staging and upload dirs on different file systems
+                Files.move(file.staging(), file.target(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The row is committed: keep the staged copy so it can be moved by hand
+            log.error("Failed to move {} to {}: {}", file.staging(), file.target(), e.getMessage());
+        }
+    }
+
+    private boolean isOlderThan(Path path, FileTime before) {
+        try {
+            return Files.getLastModifiedTime(path).compareTo(before) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileException("Fichier vide");
         }
-        String contentType = file.getContentType();
-        if (!List.of("application/pdf", "image/jpeg", "image/png").contains(contentType)) {
+        if (file.getSize() > properties.getMaxSize()) {
+            throw new InvalidFileException("Fichier trop volumineux");
+        }
+        if (!isAllowedContentType(file.getContentType())) {
             throw new InvalidFileException("Type de fichier non supporté");
         }
     }
+
+    /**
+     * Nom d'origine réduit à son dernier segment ; toute séquence ".." est refusée
+     * pour qu'un nom forgé ne puisse pas sortir des répertoires de transit ou d'upload.
+     */
+    private static String safeFilename(MultipartFile file) {
+        String original = file.getOriginalFilename();
+        if (!StringUtils.hasText(original)) {
+            throw new InvalidFileException("Le nom du fichier est invalide");
+        }
+        String cleaned = StringUtils.cleanPath(original);
+        if (cleaned.contains("..")) {
+            throw new InvalidFileException("Le nom du fichier contient une séquence de chemin invalide: " + original);
+        }
+        String filename = StringUtils.getFilename(cleaned);
+        if (!StringUtils.hasText(filename)) {
+            throw new InvalidFileException("Le nom du fichier est invalide");
+        }
+        return filename;
+    }
+
+    static boolean isAllowedContentType(String contentType) {
+        return contentType != null && ALLOWED_CONTENT_TYPES.contains(contentType);
+    }
 }
@@ -0,0 +1,101 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.client.InscriptionServiceClient;
+import com.devbuild.soutenanceservice.domain.dto.response.InscriptionDateResponse;
+import com.devbuild.soutenanceservice.domain.entity.InscriptionProjection;
+import com.devbuild.soutenanceservice.kafka.event.DossierStatusChangedEvent;
+import com.devbuild.soutenanceservice.repository.InscriptionProjectionRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InscriptionProjectionService {
+
+    private static final int SYNC_PAGE_SIZE = 1000;
+
+    private final InscriptionProjectionRepository projectionRepository;
+    private final InscriptionServiceClient inscriptionClient;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Applique un événement "dossier-status-changed" à la projection.
+     * Les événements émis avant l'ajout de la date d'inscription sont ignorés.
+     */
+    @Transactional
+    public void apply(DossierStatusChangedEvent event) {
+        if (event.getDoctorantId() == null || event.getInitialInscriptionDate() == null) {
+            log.debug("Événement sans date d'inscription ignoré: dossierId={}", event.getDossierId());
+            return;
+        }
+        projectionRepository.upsert(event.getDoctorantId(), event.getInitialInscriptionDate(),
+                Boolean.TRUE.equals(event.getDerogationFlag()));
+        log.debug("Projection mise à jour pour le doctorant {}", event.getDoctorantId());
+    }
+
+    /**
+     * Lecture locale ; inscription-service n'est interrogé que si le doctorant
+     * n'est pas encore projeté, et le résultat est alors conservé. Pas de transaction
+     * autour de l'appel distant : seule l'écriture de la projection en ouvre une.
+     */
+    public Optional<InscriptionProjection> findInscription(Long doctorantId) {
+        Optional<InscriptionProjection> local = projectionRepository.findById(doctorantId);
+        if (local.isPresent()) {
+            return local;
+        }
+
+        LocalDate initialDate;
+        try {
+            initialDate = inscriptionClient.getInitialInscriptionDate(doctorantId);
+        } catch (FeignException.NotFound e) {
+            initialDate = null;
+        }
+        if (initialDate == null) {
+            return Optional.empty();
+        }
+
+        log.info("Doctorant {} absent de la projection, date récupérée auprès d'inscription-service", doctorantId);
+        LocalDate fetched = initialDate;
+        transactionTemplate.executeWithoutResult(status -> projectionRepository.upsert(doctorantId, fetched, false));
+        return Optional.of(InscriptionProjection.builder()
+                .doctorantId(doctorantId)
+                .initialInscriptionDate(initialDate)
+                .derogationFlag(false)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Synchronisation initiale : parcourt toutes les dates d'inscription par pages,
+     * une transaction par page. Peut être relancée sans risque.
+     */
+    public int synchroniser() {
+        int total = 0;
+        Long after = null;
+        List<InscriptionDateResponse> page;
+        do {
+            page = inscriptionClient.getInscriptionDates(after, SYNC_PAGE_SIZE);
+            List<InscriptionDateResponse> current = page;
+            transactionTemplate.executeWithoutResult(status -> current.forEach(date ->
+                    projectionRepository.upsert(date.getDoctorantId(), date.getInitialInscriptionDate(),
+                            Boolean.TRUE.equals(date.getDerogationFlag()))));
+            total += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getDoctorantId();
+            }
+        } while (page.size() == SYNC_PAGE_SIZE);
+
+        log.info("Synchronisation des dates d'inscription terminée: {} doctorants", total);
+        return total;
+    }
+}
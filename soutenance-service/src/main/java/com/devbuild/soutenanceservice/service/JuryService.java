@@ -20,6 +20,7 @@ public class JuryService {
     private final JuryRepository juryRepository;
     private final DemandeRepository demandeRepository;
     private final SoutenanceEventProducer eventProducer;
+    private final StatistiqueService statistiqueService;
 
     @Transactional
     public void proposeJury(Long demandeId, JuryPropositionRequest request) {
@@ -45,11 +46,12 @@ public class JuryService {
             jury.getMembres().add(membre);
         }
 
+        jury.setRapportsAttendus(request.getRapporteurs().size());
         juryRepository.save(jury);
         demande.setJury(jury);
-        demande.setStatut(StatutDemande.EN_ATTENTE_RAPPORTS);
+        statistiqueService.changerStatut(demande, StatutDemande.EN_ATTENTE_RAPPORTS);
         demandeRepository.save(demande);
 
-        eventProducer.sendJuryProposed(demande.getId());
+        eventProducer.sendJuryProposed(demande);
     }
 }
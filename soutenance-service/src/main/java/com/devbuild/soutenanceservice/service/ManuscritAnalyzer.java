@@ -0,0 +1,147 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.config.AnalyseManuscritProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Extraction PDFBox d'un manuscrit : métadonnées, nombre de pages, texte (borné)
+ * et vignette PNG de la première page, écrite à côté du fichier.
+ * Le document est chargé avec un cache sur fichier temporaire pour ne pas
+ * dépendre de la taille du manuscrit en mémoire.
+ */
+@Component
+@RequiredArgsConstructor
+class ManuscritAnalyzer {
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
+    private final AnalyseManuscritProperties properties;
+
+    record Resultat(int nombrePages, String titre, String auteur, String producteur,
+                    String texte, String vignettePath) {
+    }
+
+    /**
+     * Le fichier ne sera jamais lisible, inutile de réessayer.
+     */
+    static class ManuscritIllisibleException extends Exception {
+        ManuscritIllisibleException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    Resultat analyser(Path manuscrit) throws IOException, ManuscritIllisibleException {
+        verifierEnTete(manuscrit);
+
+        PDDocument document;
+        try {
+            document = Loader.loadPDF(manuscrit.toFile(), IOUtils.createTempFileOnlyStreamCache());
+        } catch (InvalidPasswordException e) {
+            throw new ManuscritIllisibleException("PDF protégé par mot de passe", e);
+        } catch (IOException e) {
+            if (!Files.exists(manuscrit)) {
+                throw e;
+            }
+            throw new ManuscritIllisibleException("PDF corrompu: " + e.getMessage(), e);
+        }
+
+        try (document) {
+            PDDocumentInformation info = document.getDocumentInformation();
+            return new Resultat(
+                    document.getNumberOfPages(),
+                    info.getTitle(),
+                    info.getAuthor(),
+                    info.getProducer(),
+                    extraireTexte(document),
+                    document.getNumberOfPages() > 0 ? ecrireVignette(document, manuscrit) : null);
+        }
+    }
+
+    private void verifierEnTete(Path manuscrit) throws IOException, ManuscritIllisibleException {
+        byte[] entete = new byte[PDF_MAGIC.length];
+        try (InputStream in = Files.newInputStream(manuscrit)) {
+            int lus = in.readNBytes(entete, 0, entete.length);
+            if (lus < entete.length || !Arrays.equals(entete, PDF_MAGIC)) {
+                throw new ManuscritIllisibleException("Le manuscrit n'est pas un PDF", null);
+            }
+        }
+    }
+
+    private String extraireTexte(PDDocument document) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        BoundedWriter writer = new BoundedWriter(properties.getMaxCaracteresTexte());
+        try {
+            stripper.writeText(document, writer);
+        } catch (BoundedWriter.LimitReached ignored) {
+            // Text is truncated at maxCaracteresTexte, the remaining pages are not parsed
+        }
+        return writer.toString();
+    }
+
+    private String ecrireVignette(PDDocument document, Path manuscrit) throws IOException {
+        BufferedImage image = new PDFRenderer(document)
+                .renderImageWithDPI(0, properties.getDpiVignette(), ImageType.RGB);
+        Path vignette = manuscrit.resolveSibling(manuscrit.getFileName() + ".thumb.png");
+        ImageIO.write(image, "png", vignette.toFile());
+        return vignette.toString();
+    }
+
+    /**
+     * Stops text extraction as soon as the limit is reached instead of
+     * building the whole text of a very large manuscript.
+     */
+    private static final class BoundedWriter extends Writer {
+
+        private final StringWriter delegate = new StringWriter();
+        private final int limite;
+
+        private BoundedWriter(int limite) {
+            this.limite = limite;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int restant = limite - delegate.getBuffer().length();
+            delegate.write(buffer, offset, Math.min(length, Math.max(restant, 0)));
+            if (length >= restant) {
+                throw new LimitReached();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        private static final class LimitReached extends IOException {
+        }
+    }
+}
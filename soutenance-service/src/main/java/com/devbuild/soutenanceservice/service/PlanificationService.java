@@ -1,20 +1,67 @@
 package com.devbuild.soutenanceservice.service;
 
+import com.devbuild.soutenanceservice.config.PlanningProperties;
 import com.devbuild.soutenanceservice.domain.dto.request.PlanificationRequest;
+import com.devbuild.soutenanceservice.domain.dto.request.PlanificationSessionRequest;
+import com.devbuild.soutenanceservice.domain.dto.response.CreneauResponse;
+import com.devbuild.soutenanceservice.domain.dto.response.PlanificationSessionResponse;
 import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.MembreJury;
 import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import com.devbuild.soutenanceservice.exception.PlanningConflictException;
+import com.devbuild.soutenanceservice.exception.ResourceNotFoundException;
 import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
 import com.devbuild.soutenanceservice.repository.DemandeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class PlanificationService {
+public class PlanificationService implements SmartInitializingSingleton {
+
+    private static final int MAX_SUGGESTIONS = 50;
 
     private final DemandeRepository repository;
     private final SoutenanceEventProducer eventProducer;
+    private final PlanningIndex planningIndex;
+    private final PlanningProperties properties;
+    private final StatistiqueService statistiqueService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Reconstruit l'index avant le démarrage du serveur web : aucune planification
+     * n'est vérifiée contre un index encore vide.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> reconstruireIndex());
+    }
+
+    void reconstruireIndex() {
+        planningIndex.vider();
+        List<DemandeSoutenance> planifiees =
+                repository.findPlanifieesDepuis(StatutDemande.PLANIFIEE, LocalDate.now());
+        for (DemandeSoutenance demande : planifiees) {
+            LocalDateTime debut = LocalDateTime.of(demande.getDateSoutenance(), demande.getHeureSoutenance());
+            // Rows that already overlap in the database keep only the first one indexed
+            planningIndex.reserver(demande.getId(), demande.getLieuSoutenance(), membres(demande),
+                    debut, debut.plus(properties.getDureeSoutenance()));
+        }
+        log.info("Index de planification reconstruit: {} soutenances à venir", planifiees.size());
+    }
 
     @Transactional
     public void planifierSoutenance(Long demandeId, PlanificationRequest request) {
@@ -24,12 +71,163 @@ public class PlanificationService {
             throw new IllegalStateException("Demande non autorisée");
         }
 
-        demande.setDateSoutenance(request.getDateSoutenance());
-        demande.setHeureSoutenance(request.getHeureSoutenance());
-        demande.setLieuSoutenance(request.getLieuSoutenance());
-        demande.setStatut(StatutDemande.PLANIFIEE);
+        LocalDateTime debut = LocalDateTime.of(request.getDateSoutenance(), request.getHeureSoutenance());
+        List<String> conflits = reserver(demande, request.getLieuSoutenance(), debut);
+        if (!conflits.isEmpty()) {
+            throw new PlanningConflictException("Créneau indisponible", conflits);
+        }
+
+        appliquer(demande, request.getLieuSoutenance(), debut);
+    }
+
+    /**
+     * Prochains créneaux libres pour la salle demandée (ou les salles configurées),
+     * en tenant compte des autres soutenances de chaque membre du jury.
+     */
+    @Transactional(readOnly = true)
+    public List<CreneauResponse> suggererCreneaux(Long demandeId, String salle, LocalDate aPartirDu, int nombre) {
+        DemandeSoutenance demande = repository.findById(demandeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Demande introuvable: " + demandeId));
+        List<String> salles = salles(salle == null ? null : List.of(salle));
+        List<String> membres = membres(demande);
+        LocalDate debut = aPartirDu != null ? aPartirDu : LocalDate.now().plusDays(1);
+        int limite = Math.min(Math.max(nombre, 1), MAX_SUGGESTIONS);
+
+        List<CreneauResponse> suggestions = new ArrayList<>();
+        for (LocalDateTime creneau : creneaux(debut, debut.plusDays(properties.getHorizonJours()))) {
+            LocalDateTime fin = creneau.plus(properties.getDureeSoutenance());
+            for (String s : salles) {
+                if (planningIndex.conflits(s, membres, creneau, fin).isEmpty()) {
+                    suggestions.add(creneau(null, s, creneau));
+                    if (suggestions.size() == limite) {
+                        return suggestions;
+                    }
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Place toute une session : chaque demande prend le premier créneau libre,
+     * dans l'ordre reçu. Les demandes qui ne peuvent pas être placées sont listées
+     * avec leur motif sans bloquer les autres.
+     */
+    @Transactional
+    public PlanificationSessionResponse planifierSession(PlanificationSessionRequest request) {
+        List<String> salles = salles(request.getSalles());
+        LocalDate dateDebut = request.getDateDebut() != null ? request.getDateDebut() : LocalDate.now().plusDays(1);
+        LocalDate dateFin = request.getDateFin() != null
+                ? request.getDateFin() : dateDebut.plusDays(properties.getHorizonJours());
+        List<LocalDateTime> creneaux = creneaux(dateDebut, dateFin);
+
+        PlanificationSessionResponse response = new PlanificationSessionResponse();
+        for (Long demandeId : request.getDemandeIds()) {
+            DemandeSoutenance demande = repository.findById(demandeId).orElse(null);
+            if (demande == null) {
+                response.getNonPlanifiees().put(demandeId, "Demande introuvable");
+                continue;
+            }
+            if (demande.getStatut() != StatutDemande.AUTORISEE) {
+                response.getNonPlanifiees().put(demandeId, "Demande non autorisée: " + demande.getStatut());
+                continue;
+            }
+
+            CreneauResponse place = placer(demande, salles, creneaux);
+            if (place == null) {
+                response.getNonPlanifiees().put(demandeId, "Aucun créneau libre entre " + dateDebut + " et " + dateFin);
+            } else {
+                response.getPlanifiees().add(place);
+            }
+        }
+
+        log.info("Session planifiée: {} soutenances placées, {} non placées",
+                response.getPlanifiees().size(), response.getNonPlanifiees().size());
+        return response;
+    }
+
+    private CreneauResponse placer(DemandeSoutenance demande, List<String> salles, List<LocalDateTime> creneaux) {
+        for (LocalDateTime debut : creneaux) {
+            for (String salle : salles) {
+                if (reserver(demande, salle, debut).isEmpty()) {
+                    appliquer(demande, salle, debut);
+                    return creneau(demande.getId(), salle, debut);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reserves in the index right away and releases it if the transaction does not commit.
+     */
+    private List<String> reserver(DemandeSoutenance demande, String salle, LocalDateTime debut) {
+        List<String> membres = membres(demande);
+        List<String> conflits = planningIndex.reserver(demande.getId(), salle, membres,
+                debut, debut.plus(properties.getDureeSoutenance()));
+        if (conflits.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        planningIndex.liberer(demande.getId(), salle, membres, debut);
+                    }
+                }
+            });
+        }
+        return conflits;
+    }
+
+    private void appliquer(DemandeSoutenance demande, String salle, LocalDateTime debut) {
+        demande.setDateSoutenance(debut.toLocalDate());
+        demande.setHeureSoutenance(debut.toLocalTime());
+        demande.setLieuSoutenance(salle);
+        statistiqueService.changerStatut(demande, StatutDemande.PLANIFIEE);
         repository.save(demande);
 
-        eventProducer.sendSoutenancePlanified(demande.getId());
+        eventProducer.sendSoutenancePlanified(demande);
+    }
+
+    private List<LocalDateTime> creneaux(LocalDate du, LocalDate au) {
+        List<LocalDateTime> creneaux = new ArrayList<>();
+        LocalTime dernierDebut = properties.getHeureFin().minus(properties.getDureeSoutenance());
+        for (LocalDate jour = du; !jour.isAfter(au); jour = jour.plusDays(1)) {
+            if (!properties.getJoursOuvres().contains(jour.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime heure = properties.getHeureDebut(); !heure.isAfter(dernierDebut);
+                 heure = heure.plus(properties.getPas())) {
+                creneaux.add(LocalDateTime.of(jour, heure));
+                if (heure.plus(properties.getPas()).isBefore(heure)) {
+                    break; // wrapped past midnight
+                }
+            }
+        }
+        return creneaux;
+    }
+
+    private List<String> salles(List<String> demandees) {
+        List<String> salles = demandees != null && !demandees.isEmpty() ? demandees : properties.getSalles();
+        if (salles.isEmpty()) {
+            throw new IllegalArgumentException("Aucune salle fournie ni configurée (planning.salles)");
+        }
+        return salles;
+    }
+
+    private static List<String> membres(DemandeSoutenance demande) {
+        if (demande.getJury() == null) {
+            return List.of();
+        }
+        return demande.getJury().getMembres().stream().map(MembreJury::getNom).toList();
+    }
+
+    private CreneauResponse creneau(Long demandeId, String salle, LocalDateTime debut) {
+        return CreneauResponse.builder()
+                .demandeId(demandeId)
+                .dateSoutenance(debut.toLocalDate())
+                .heureSoutenance(debut.toLocalTime())
+                .heureFin(debut.toLocalTime().plus(properties.getDureeSoutenance()))
+                .lieuSoutenance(salle)
+                .build();
     }
 }
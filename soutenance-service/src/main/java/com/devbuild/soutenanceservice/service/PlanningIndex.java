@@ -0,0 +1,144 @@
+package com.devbuild.soutenanceservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des soutenances planifiées : un arbre d'intervalles triés par
+ * début pour chaque salle et pour chaque membre de jury. Les réservations d'une
+ * même ressource ne se chevauchent jamais, donc seuls le voisin précédent et le
+ * voisin suivant sont à comparer : chaque vérification est en O(log n).
+ * La base reste la référence ; l'index est reconstruit au démarrage, avant
+ * que le serveur web n'accepte des requêtes.
+ */
+@Component
+@Slf4j
+public class PlanningIndex {
+
+    public record Reservation(Long demandeId, LocalDateTime debut, LocalDateTime fin) {
+
+        boolean chevauche(LocalDateTime autreDebut, LocalDateTime autreFin) {
+            return debut.isBefore(autreFin) && autreDebut.isBefore(fin);
+        }
+    }
+
+    private final Map<String, TreeMap<LocalDateTime, Reservation>> parSalle = new HashMap<>();
+    private final Map<String, TreeMap<LocalDateTime, Reservation>> parMembre = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Conflits pour la salle et les membres donnés, vide si le créneau est libre.
+     */
+    public List<String> conflits(String salle, Collection<String> membres, LocalDateTime debut, LocalDateTime fin) {
+        lock.readLock().lock();
+        try {
+            return conflitsSansVerrou(salle, membres, debut, fin);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vérifie et réserve sous le même verrou : deux planifications concurrentes
+     * ne peuvent pas obtenir le même créneau.
+     */
+    public List<String> reserver(Long demandeId, String salle, Collection<String> membres,
+                                 LocalDateTime debut, LocalDateTime fin) {
+        lock.writeLock().lock();
+        try {
+            List<String> conflits = conflitsSansVerrou(salle, membres, debut, fin);
+            if (conflits.isEmpty()) {
+                Reservation reservation = new Reservation(demandeId, debut, fin);
+                parSalle.computeIfAbsent(cle(salle), k -> new TreeMap<>()).put(debut, reservation);
+                for (String membre : membres) {
+                    parMembre.computeIfAbsent(cle(membre), k -> new TreeMap<>()).put(debut, reservation);
+                }
+            }
+            return conflits;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void liberer(Long demandeId, String salle, Collection<String> membres, LocalDateTime debut) {
+        lock.writeLock().lock();
+        try {
+            retirer(parSalle, cle(salle), demandeId, debut);
+            for (String membre : membres) {
+                retirer(parMembre, cle(membre), demandeId, debut);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void vider() {
+        lock.writeLock().lock();
+        try {
+            parSalle.clear();
+            parMembre.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> conflitsSansVerrou(String salle, Collection<String> membres,
+                                            LocalDateTime debut, LocalDateTime fin) {
+        List<String> conflits = new ArrayList<>();
+        Reservation salleOccupee = chevauchement(parSalle.get(cle(salle)), debut, fin);
+        if (salleOccupee != null) {
+            conflits.add("Salle " + salle + " occupée par la demande " + salleOccupee.demandeId()
+                    + " (" + salleOccupee.debut() + " - " + salleOccupee.fin() + ")");
+        }
+        for (String membre : membres) {
+            Reservation membreOccupe = chevauchement(parMembre.get(cle(membre)), debut, fin);
+            if (membreOccupe != null) {
+                conflits.add("Membre " + membre + " déjà au jury de la demande " + membreOccupe.demandeId()
+                        + " (" + membreOccupe.debut() + " - " + membreOccupe.fin() + ")");
+            }
+        }
+        return conflits;
+    }
+
+    private static Reservation chevauchement(TreeMap<LocalDateTime, Reservation> reservations,
+                                             LocalDateTime debut, LocalDateTime fin) {
+        if (reservations == null) {
+            return null;
+        }
+        Map.Entry<LocalDateTime, Reservation> precedente = reservations.floorEntry(debut);
+        if (precedente != null && precedente.getValue().chevauche(debut, fin)) {
+            return precedente.getValue();
+        }
+        Map.Entry<LocalDateTime, Reservation> suivante = reservations.higherEntry(debut);
+        if (suivante != null && suivante.getValue().chevauche(debut, fin)) {
+            return suivante.getValue();
+        }
+        return null;
+    }
+
+    private static void retirer(Map<String, TreeMap<LocalDateTime, Reservation>> index, String cle,
+                                Long demandeId, LocalDateTime debut) {
+        TreeMap<LocalDateTime, Reservation> reservations = index.get(cle);
+        if (reservations == null) {
+            return;
+        }
+        reservations.computeIfPresent(debut, (k, r) -> r.demandeId().equals(demandeId) ? null : r);
+        if (reservations.isEmpty()) {
+            index.remove(cle);
+        }
+    }
+
+    private static String cle(String ressource) {
+        return ressource.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,7 +3,6 @@ package com.devbuild.soutenanceservice.service;
 import com.devbuild.soutenanceservice.domain.entity.Prerequis;
 
 import com.devbuild.soutenanceservice.exception.PrerequisNotMetException;
-import com.devbuild.soutenanceservice.repository.PrerequisRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,13 +10,13 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class PrerequisService {
 
-    private final PrerequisRepository repository;
-
+    /**
+     * Pure check, no database access: the prerequisites are persisted with the demande (cascade).
+     */
     public void validatePrerequis(Prerequis prerequis) {
         if (prerequis.getNbArticlesQ1Q2() < 2 || prerequis.getNbConferences() < 2 || prerequis.getHeuresFormation() < 200) {
             throw new PrerequisNotMetException("Prérequis non remplis");
         }
         prerequis.setValide(true);
-        repository.save(prerequis);
     }
 }
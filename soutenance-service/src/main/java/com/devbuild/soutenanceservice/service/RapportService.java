@@ -1,47 +1,82 @@
 package com.devbuild.soutenanceservice.service;
 
 import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.MembreJury;
 import com.devbuild.soutenanceservice.domain.entity.Rapport;
 import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import com.devbuild.soutenanceservice.domain.enums.TypeMembreJury;
+import com.devbuild.soutenanceservice.exception.RapportDejaDeposeException;
+import com.devbuild.soutenanceservice.exception.ResourceNotFoundException;
 import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
 import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import com.devbuild.soutenanceservice.repository.JuryRepository;
 import com.devbuild.soutenanceservice.repository.RapportRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class RapportService {
 
     private final RapportRepository repository;
     private final DemandeRepository demandeRepository;
+    private final JuryRepository juryRepository;
     private final FileStorageService fileStorageService;
     private final SoutenanceEventProducer eventProducer;
+    private final StatistiqueService statistiqueService;
 
     @Transactional
-    public void uploadRapport(Long demandeId, MultipartFile file, boolean favorable) {
+    public void uploadRapport(Long demandeId, MultipartFile file, Long rapporteurId, boolean favorable) {
         DemandeSoutenance demande = demandeRepository.findById(demandeId).orElseThrow();
 
-        String path = fileStorageService.storeFile(file, demande.getDoctorantId());
+        if (demande.getStatut() != StatutDemande.EN_ATTENTE_RAPPORTS || demande.getJury() == null) {
+            throw new IllegalStateException("Aucun rapport n'est attendu pour cette demande : statut " + demande.getStatut());
+        }
+
+        MembreJury rapporteur = demande.getJury().getMembres().stream()
+                .filter(membre -> membre.getType() == TypeMembreJury.RAPPORTEUR)
+                .filter(membre -> membre.getId().equals(rapporteurId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Rapporteur introuvable dans le jury de cette demande"));
+
+        if (repository.existsByDemandeSoutenanceIdAndRapporteurId(demandeId, rapporteurId)) {
+            throw new RapportDejaDeposeException("Le rapport de " + rapporteur.getNom() + " a déjà été déposé");
+        }
+
+        // Only moved into place if this transaction commits, so a rejected duplicate leaves no file
+        FileStorageService.StagedFile staged = fileStorageService.stage(file, demande.getDoctorantId());
+        fileStorageService.promoteAfterCommit(List.of(staged));
 
         Rapport rapport = Rapport.builder()
-                .path(path)
+                .path(staged.path())
                 .favorable(favorable)
                 .demandeSoutenance(demande)
+                .rapporteur(rapporteur)
                 .build();
 
-        repository.save(rapport);
+        try {
+            // Flushed before the counters move: a concurrent upload by the same rapporteur fails here
+            repository.saveAndFlush(rapport);
+        } catch (DataIntegrityViolationException e) {
+            throw new RapportDejaDeposeException("Le rapport de " + rapporteur.getNom() + " a déjà été déposé");
+        }
 
-        long nbRapports = repository.countByDemandeSoutenance_Id(demande.getId());
-        long nbFavorables = repository.countByDemandeSoutenanceIdAndFavorable(demande.getId(), true);
+        Long juryId = demande.getJury().getId();
+        juryRepository.incrementRapports(juryId, favorable ? 1 : 0);
 
-        if (nbFavorables == nbRapports) {
-            demande.getJury().setRapportsFavorables(true);
-            demande.setStatut(StatutDemande.AUTORISEE);
-            demandeRepository.save(demande);
-            eventProducer.sendRapportsOk(demande.getId());
+        // Only the transaction that performs the transition authorises and notifies
+        int autorisee = demandeRepository.transitionSiRapportsFavorables(
+                demande.getId(), StatutDemande.EN_ATTENTE_RAPPORTS, StatutDemande.AUTORISEE);
+        if (autorisee == 1) {
+            juryRepository.markRapportsFavorables(juryId);
+            // The entity still holds the old statut: account for the transition and sync it
+            statistiqueService.changerStatut(demande, StatutDemande.AUTORISEE);
+            eventProducer.sendRapportsOk(demande);
         }
     }
 
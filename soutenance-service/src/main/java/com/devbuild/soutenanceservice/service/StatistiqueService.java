@@ -0,0 +1,161 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.domain.dto.response.StatistiquesResponse;
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.HistogrammeEtape;
+import com.devbuild.soutenanceservice.domain.entity.StatistiqueStatut;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import com.devbuild.soutenanceservice.repository.HistogrammeEtapeRepository;
+import com.devbuild.soutenanceservice.repository.InitialisationRepository;
+import com.devbuild.soutenanceservice.repository.StatistiqueStatutRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistiques du circuit de soutenance, maintenues de façon incrémentale dans la
+ * transaction de chaque changement de statut. La lecture ne parcourt que deux petites
+ * tables de taille fixe (statuts × tranches), quel que soit l'historique.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatistiqueService implements SmartInitializingSingleton {
+
+    // Upper bounds of the histogram ranges; the last range is open-ended
+    static final List<Duration> TRANCHES = List.of(
+            Duration.ofDays(1), Duration.ofDays(3), Duration.ofDays(7), Duration.ofDays(14),
+            Duration.ofDays(30), Duration.ofDays(60), Duration.ofDays(90), Duration.ofDays(180));
+
+    private static final String MARQUEUR_INITIALISATION = "statistiques_soutenance";
+
+    private final StatistiqueStatutRepository statistiqueRepository;
+    private final HistogrammeEtapeRepository histogrammeRepository;
+    private final DemandeRepository demandeRepository;
+    private final InitialisationRepository initialisationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Seule façon de changer le statut d'une demande : met à jour l'entité et les
+     * compteurs dans la même transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changerStatut(DemandeSoutenance demande, StatutDemande nouveau) {
+        StatutDemande ancien = demande.getStatut();
+        if (ancien == nouveau) {
+            return;
+        }
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        enregistrerSortie(ancien, demande.getStatutChangedAt(), maintenant);
+        statistiqueRepository.ajouterEnCours(nouveau.name(), 1);
+
+        demande.setStatut(nouveau);
+        demande.setStatutChangedAt(maintenant);
+    }
+
+    /**
+     * Nouvelle demande, enregistrée dans son statut initial.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enregistrerCreation(DemandeSoutenance demande) {
+        demande.setStatutChangedAt(LocalDateTime.now());
+        statistiqueRepository.ajouterEnCours(demande.getStatut().name(), 1);
+    }
+
+    @Transactional(readOnly = true)
+    public StatistiquesResponse getStatistiques() {
+        Map<StatutDemande, Long> parStatut = new EnumMap<>(StatutDemande.class);
+        Map<StatutDemande, StatistiquesResponse.Etape> etapes = new EnumMap<>(StatutDemande.class);
+
+        for (StatistiqueStatut statistique : statistiqueRepository.findAll()) {
+            parStatut.put(statistique.getStatut(), statistique.getEnCours());
+            if (statistique.getSorties() > 0) {
+                etapes.put(statistique.getStatut(), StatistiquesResponse.Etape.builder()
+                        .sorties(statistique.getSorties())
+                        .dureeMoyenneJours(statistique.getDureeTotaleSecondes()
+                                / (double) statistique.getSorties() / Duration.ofDays(1).toSeconds())
+                        .histogramme(histogrammeVide())
+                        .build());
+            }
+        }
+
+        for (HistogrammeEtape ligne : histogrammeRepository.findAll()) {
+            StatistiquesResponse.Etape etape = etapes.get(ligne.getCle().getStatut());
+            if (etape != null) {
+                etape.getHistogramme().put(libelle(ligne.getCle().getTranche()), ligne.getNombre());
+            }
+        }
+
+        return StatistiquesResponse.builder().parStatut(parStatut).etapes(etapes).build();
+    }
+
+    /**
+     * Premier démarrage : les compteurs par statut sont initialisés par un GROUP BY,
+     * avant que le serveur web n'accepte des requêtes. Le marqueur garantit qu'une
+     * seule instance le fait ; les autres attendent la fin de sa transaction.
+     * Les durées des transitions passées ne sont pas reconstituées.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> initialiser());
+    }
+
+    void initialiser() {
+        // Deployments seeded before the marker existed already have counters: only mark them
+        if (initialisationRepository.marquer(MARQUEUR_INITIALISATION) == 0 || statistiqueRepository.count() > 0) {
+            return;
+        }
+        int datees = demandeRepository.initialiserStatutChangedAt();
+        for (Object[] ligne : demandeRepository.countParStatut()) {
+            statistiqueRepository.ajouterEnCours(((StatutDemande) ligne[0]).name(), (Long) ligne[1]);
+        }
+        log.info("Statistiques de soutenance initialisées ({} demandes datées)", datees);
+    }
+
+    private void enregistrerSortie(StatutDemande ancien, LocalDateTime depuis, LocalDateTime maintenant) {
+        if (depuis == null) {
+            // Demande older than the statistics: count it out without a duration
+            statistiqueRepository.ajouterEnCours(ancien.name(), -1);
+            return;
+        }
+        Duration duree = Duration.between(depuis, maintenant);
+        statistiqueRepository.enregistrerSortie(ancien.name(), Math.max(duree.toSeconds(), 0));
+        histogrammeRepository.incrementer(ancien.name(), tranche(duree));
+    }
+
+    static int tranche(Duration duree) {
+        for (int i = 0; i < TRANCHES.size(); i++) {
+            if (duree.compareTo(TRANCHES.get(i)) < 0) {
+                return i;
+            }
+        }
+        return TRANCHES.size();
+    }
+
+    private static Map<String, Long> histogrammeVide() {
+        Map<String, Long> histogramme = new LinkedHashMap<>();
+        for (int i = 0; i <= TRANCHES.size(); i++) {
+            histogramme.put(libelle(i), 0L);
+        }
+        return histogramme;
+    }
+
+    private static String libelle(int tranche) {
+        return tranche < TRANCHES.size()
+                ? "< " + TRANCHES.get(tranche).toDays() + " j"
+                : ">= " + TRANCHES.get(TRANCHES.size() - 1).toDays() + " j";
+    }
+}
@@ -0,0 +1,155 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.common.upload.StatutUpload;
+import com.devbuild.common.upload.UploadPolicy;
+import com.devbuild.common.upload.UploadSession;
+import com.devbuild.common.upload.UploadSessionRepository;
+import com.devbuild.common.upload.UploadSessionRequest;
+import com.devbuild.common.upload.UploadSessionService;
+import com.devbuild.soutenanceservice.config.FileStorageProperties;
+import com.devbuild.soutenanceservice.domain.dto.request.DemandeSubmissionRequest;
+import com.devbuild.soutenanceservice.domain.dto.response.DemandeResponse;
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
+import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Submission from a completed upload session, against PostgreSQL and real files:
+ * a failed submission must leave the session usable for a retry.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.config.import-check.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DemandeServiceTest {
+
+    private static final Long DOCTORANT_ID = 42L;
+    private static final byte[] MANUSCRIT = "%PDF-1.4\nmanuscrit\n%%EOF".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Only the JPA layer: the application class would also pull in Feign and Kafka
+    @Configuration
+    @EntityScan(basePackageClasses = {DemandeSoutenance.class, UploadSession.class})
+    @EnableJpaRepositories(basePackageClasses = {DemandeRepository.class, UploadSessionRepository.class})
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private DemandeRepository demandeRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path storageDir;
+
+    private final AnalyseManuscritService analyseManuscritService = mock(AnalyseManuscritService.class);
+
+    private UploadSessionService uploadSessionService;
+    private DemandeService demandeService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageProperties properties = new FileStorageProperties();
+        properties.setUploadDir(storageDir.resolve("soutenances").toString());
+        properties.setStagingDir(storageDir.resolve("staging").toString());
+
+        uploadSessionService = new UploadSessionService(uploadSessionRepository, new UploadPolicy(
+                storageDir.resolve("sessions").toString(), properties.getMaxSize(), Duration.ofHours(1),
+                Set.of("application/pdf")));
+        demandeService = new DemandeService(demandeRepository, mock(PrerequisService.class),
+                new FileStorageService(properties), mock(SoutenanceEventProducer.class), mock(DureeService.class),
+                uploadSessionService, new TransactionTemplate(transactionManager),
+                mock(StatistiqueService.class), analyseManuscritService);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        demandeRepository.deleteAll();
+        uploadSessionRepository.deleteAll();
+    }
+
+    @Test
+    void failedSubmissionCanBeRetriedWithTheSameUploadId() throws Exception {
+        String uploadId = completedUpload();
+        DemandeSubmissionRequest request = new DemandeSubmissionRequest();
+        request.setManuscritUploadId(uploadId);
+
+        // Fails inside the transaction, after the session file was staged and consume() ran
+        doThrow(new IllegalStateException("analyse indisponible"))
+                .doNothing()
+                .when(analyseManuscritService).planifier(any());
+        assertThrows(IllegalStateException.class,
+                () -> demandeService.submitDemande(request, null, null, DOCTORANT_ID, null));
+
+        assertEquals(StatutUpload.TERMINE, session(uploadId).getStatut());
+        assertEquals(0, demandeRepository.count());
+
+        DemandeResponse response = demandeService.submitDemande(request, null, null, DOCTORANT_ID, null);
+
+        assertArrayEquals(MANUSCRIT, Files.readAllBytes(Path.of(response.getManuscritPath())));
+        assertEquals(StatutUpload.UTILISE, session(uploadId).getStatut());
+        assertFalse(Files.exists(storageDir.resolve("sessions").resolve(session(uploadId).getStagingPath())));
+        try (var staging = Files.list(storageDir.resolve("staging").resolve("submissions"))) {
+            assertTrue(staging.findAny().isEmpty());
+        }
+    }
+
+    private String completedUpload() throws Exception {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFilename("these.pdf");
+        request.setContentType("application/pdf");
+        request.setTotalSize((long) MANUSCRIT.length);
+        String uploadId = uploadSessionService.createSession(request, DOCTORANT_ID).getId();
+        uploadSessionService.appendChunk(uploadId, DOCTORANT_ID, 0, new ByteArrayInputStream(MANUSCRIT));
+        uploadSessionService.complete(uploadId, DOCTORANT_ID);
+        return uploadId;
+    }
+
+    private UploadSession session(String uploadId) {
+        return uploadSessionRepository.findById(uploadId).orElseThrow();
+    }
+}
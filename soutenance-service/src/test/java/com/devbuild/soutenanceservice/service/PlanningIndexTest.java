@@ -0,0 +1,114 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.config.PlanningProperties;
+import com.devbuild.soutenanceservice.domain.dto.request.PlanificationRequest;
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.Jury;
+import com.devbuild.soutenanceservice.domain.entity.MembreJury;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import com.devbuild.soutenanceservice.domain.enums.TypeMembreJury;
+import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
+import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlanningIndexTest {
+
+    private static final LocalDateTime NEUF_HEURES = LocalDateTime.of(2026, 6, 15, 9, 0);
+    private static final LocalDateTime ONZE_HEURES = NEUF_HEURES.plusHours(2);
+
+    private final PlanningIndex index = new PlanningIndex();
+
+    @Test
+    void rejectsSlotsOverlappingEitherEdge() {
+        assertTrue(index.reserver(1L, "Salle A", List.of(), NEUF_HEURES, ONZE_HEURES).isEmpty());
+
+        assertEquals(1, index.conflits("Salle A", List.of(), NEUF_HEURES.minusHours(1), NEUF_HEURES.plusMinutes(1)).size());
+        assertEquals(1, index.conflits("Salle A", List.of(), ONZE_HEURES.minusMinutes(1), ONZE_HEURES.plusHours(1)).size());
+        assertEquals(1, index.conflits("Salle A", List.of(), NEUF_HEURES.plusMinutes(30), ONZE_HEURES.minusMinutes(30)).size());
+        assertEquals(1, index.conflits("Salle A", List.of(), NEUF_HEURES.minusHours(1), ONZE_HEURES.plusHours(1)).size());
+        assertEquals(1, index.conflits("salle a ", List.of(), NEUF_HEURES, ONZE_HEURES).size());
+    }
+
+    @Test
+    void acceptsBackToBackSlots() {
+        assertTrue(index.reserver(1L, "Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES).isEmpty());
+
+        assertTrue(index.reserver(2L, "Salle A", List.of("Dupont"), ONZE_HEURES, ONZE_HEURES.plusHours(2)).isEmpty());
+        assertTrue(index.reserver(3L, "Salle A", List.of("Dupont"), NEUF_HEURES.minusHours(2), NEUF_HEURES).isEmpty());
+        assertEquals(1, index.conflits("Salle A", List.of(), ONZE_HEURES.minusMinutes(1), ONZE_HEURES.plusMinutes(1)).size());
+    }
+
+    @Test
+    void rejectsAJuryMemberAlreadyBookedInAnotherRoom() {
+        index.reserver(1L, "Salle A", List.of("Dupont", "Martin"), NEUF_HEURES, ONZE_HEURES);
+
+        List<String> conflits = index.reserver(2L, "Salle B", List.of("Durand", "martin"),
+                NEUF_HEURES.plusHours(1), ONZE_HEURES.plusHours(1));
+
+        assertEquals(1, conflits.size());
+        assertTrue(conflits.get(0).startsWith("Membre martin"));
+        assertTrue(index.conflits("Salle B", List.of(), NEUF_HEURES, ONZE_HEURES).isEmpty());
+    }
+
+    @Test
+    void libererOnlyRemovesTheReservationOfTheGivenDemande() {
+        index.reserver(1L, "Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES);
+
+        index.liberer(2L, "Salle A", List.of("Dupont"), NEUF_HEURES);
+        assertEquals(2, index.conflits("Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES).size());
+
+        index.liberer(1L, "Salle A", List.of("Dupont"), NEUF_HEURES);
+        assertTrue(index.conflits("Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES).isEmpty());
+    }
+
+    @Test
+    void releasesTheSlotWhenThePlanningTransactionRollsBack() {
+        DemandeRepository repository = mock(DemandeRepository.class);
+        SoutenanceEventProducer eventProducer = mock(SoutenanceEventProducer.class);
+        PlanificationService service = new PlanificationService(repository, eventProducer, index,
+                new PlanningProperties(), mock(StatistiqueService.class), mock(TransactionTemplate.class));
+
+        Jury jury = Jury.builder().build();
+        jury.getMembres().add(MembreJury.builder().nom("Dupont").type(TypeMembreJury.RAPPORTEUR).jury(jury).build());
+        DemandeSoutenance demande = DemandeSoutenance.builder()
+                .id(1L).statut(StatutDemande.AUTORISEE).jury(jury).build();
+        when(repository.findById(1L)).thenReturn(Optional.of(demande));
+        doThrow(new IllegalStateException("Kafka indisponible")).when(eventProducer).sendSoutenancePlanified(any());
+
+        PlanificationRequest request = new PlanificationRequest();
+        request.setDateSoutenance(LocalDate.of(2026, 6, 15));
+        request.setHeureSoutenance(LocalTime.of(9, 0));
+        request.setLieuSoutenance("Salle A");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThrows(IllegalStateException.class, () -> service.planifierSoutenance(1L, request));
+            assertEquals(2, index.conflits("Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES).size());
+
+            // What the transaction manager does once the failed transaction is rolled back
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(index.conflits("Salle A", List.of("Dupont"), NEUF_HEURES, ONZE_HEURES).isEmpty());
+    }
+}
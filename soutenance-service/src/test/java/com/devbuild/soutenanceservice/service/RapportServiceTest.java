@@ -0,0 +1,224 @@
+package com.devbuild.soutenanceservice.service;
+
+import com.devbuild.soutenanceservice.domain.entity.DemandeSoutenance;
+import com.devbuild.soutenanceservice.domain.entity.Jury;
+import com.devbuild.soutenanceservice.domain.entity.MembreJury;
+import com.devbuild.soutenanceservice.domain.enums.StatutDemande;
+import com.devbuild.soutenanceservice.domain.enums.TypeMembreJury;
+import com.devbuild.soutenanceservice.exception.RapportDejaDeposeException;
+import com.devbuild.soutenanceservice.kafka.producer.SoutenanceEventProducer;
+import com.devbuild.soutenanceservice.repository.DemandeRepository;
+import com.devbuild.soutenanceservice.repository.JuryRepository;
+import com.devbuild.soutenanceservice.repository.RapportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs against PostgreSQL: the single transition to AUTORISEE relies on the row
+ * lock taken by the counter increment and on the unique (demande, rapporteur) key.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.config.import-check.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RapportServiceTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Only the JPA layer: the application class would also pull in Feign and Kafka
+    @Configuration
+    @EntityScan(basePackageClasses = DemandeSoutenance.class)
+    @EnableJpaRepositories(basePackageClasses = DemandeRepository.class)
+    static class JpaConfig {
+    }
+
+    @Autowired
+    private RapportRepository rapportRepository;
+
+    @Autowired
+    private DemandeRepository demandeRepository;
+
+    @Autowired
+    private JuryRepository juryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final SoutenanceEventProducer eventProducer = mock(SoutenanceEventProducer.class);
+    private final StatistiqueService statistiqueService = mock(StatistiqueService.class);
+
+    private RapportService rapportService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        rapportService = new RapportService(rapportRepository, demandeRepository, juryRepository,
+                fileStorageService, eventProducer, statistiqueService);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(fileStorageService.stage(any(), anyLong())).thenAnswer(invocation -> new FileStorageService.StagedFile(
+                Path.of("staging", "rapport.pdf"), Path.of("uploads", "rapport.pdf")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        rapportRepository.deleteAll();
+        demandeRepository.deleteAll();
+        juryRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentRapporteursAuthoriseTheDemandeExactlyOnce() throws Exception {
+        DemandeSoutenance demande = demandeEnAttenteDeRapports(3);
+        List<Long> rapporteurs = rapporteurIds(demande);
+
+        List<Throwable> failures = concurrently(rapporteurs.stream()
+                .map(rapporteurId -> (Callable<Void>) () -> upload(demande.getId(), rapporteurId))
+                .toList());
+
+        assertEquals(List.of(), failures);
+        assertEquals(StatutDemande.AUTORISEE, demandeRepository.findById(demande.getId()).orElseThrow().getStatut());
+        assertEquals(3, juryRepository.findById(juryId(demande)).orElseThrow().getRapportsRecus());
+        verify(eventProducer, times(1)).sendRapportsOk(any());
+    }
+
+    @Test
+    void concurrentUploadsBySameRapporteurAreCountedOnce() throws Exception {
+        DemandeSoutenance demande = demandeEnAttenteDeRapports(2);
+        Long rapporteurId = rapporteurIds(demande).get(0);
+
+        List<Throwable> failures = concurrently(List.of(
+                () -> upload(demande.getId(), rapporteurId),
+                () -> upload(demande.getId(), rapporteurId)));
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(RapportDejaDeposeException.class, failures.get(0));
+        assertEquals(1, juryRepository.findById(juryId(demande)).orElseThrow().getRapportsRecus());
+        assertEquals(1, rapportRepository.countByDemandeSoutenance_Id(demande.getId()));
+    }
+
+    @Test
+    void reUploadCannotCompleteTheExpectedReports() {
+        DemandeSoutenance demande = demandeEnAttenteDeRapports(2);
+        Long rapporteurId = rapporteurIds(demande).get(0);
+
+        upload(demande.getId(), rapporteurId);
+        assertThrows(RapportDejaDeposeException.class, () -> upload(demande.getId(), rapporteurId));
+
+        assertEquals(StatutDemande.EN_ATTENTE_RAPPORTS,
+                demandeRepository.findById(demande.getId()).orElseThrow().getStatut());
+        verify(eventProducer, never()).sendRapportsOk(any());
+    }
+
+    private Void upload(Long demandeId, Long rapporteurId) {
+        MockMultipartFile file = new MockMultipartFile("rapport", "rapport.pdf", "application/pdf", new byte[]{1});
+        transactionTemplate.executeWithoutResult(status ->
+                rapportService.uploadRapport(demandeId, file, rapporteurId, true));
+        return null;
+    }
+
+    private List<Throwable> concurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DemandeSoutenance demandeEnAttenteDeRapports(int rapporteurs) {
+        return transactionTemplate.execute(status -> {
+            Jury jury = Jury.builder().rapportsAttendus(rapporteurs).build();
+            for (int i = 0; i < rapporteurs; i++) {
+                jury.getMembres().add(membre(jury, "Rapporteur " + i, TypeMembreJury.RAPPORTEUR));
+            }
+            jury.getMembres().add(membre(jury, "Examinateur", TypeMembreJury.EXAMINATEUR));
+            juryRepository.save(jury);
+
+            return demandeRepository.save(DemandeSoutenance.builder()
+                    .doctorantId(1L)
+                    .manuscritPath("manuscrit.pdf")
+                    .dateSubmission(LocalDate.now())
+                    .statut(StatutDemande.EN_ATTENTE_RAPPORTS)
+                    .jury(jury)
+                    .build());
+        });
+    }
+
+    private MembreJury membre(Jury jury, String nom, TypeMembreJury type) {
+        return MembreJury.builder().nom(nom).type(type).jury(jury).build();
+    }
+
+    private List<Long> rapporteurIds(DemandeSoutenance demande) {
+        return demande.getJury().getMembres().stream()
+                .filter(membre -> membre.getType() == TypeMembreJury.RAPPORTEUR)
+                .map(MembreJury::getId)
+                .toList();
+    }
+
+    private Long juryId(DemandeSoutenance demande) {
+        return demande.getJury().getId();
+    }
+}
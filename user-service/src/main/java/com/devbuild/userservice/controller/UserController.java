@@ -128,4 +128,15 @@ public class UserController {
         return ResponseEntity.ok(UserResponse.fromEntity(user));
     }
 
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        log.debug("Fetching {} users by ID", ids.size());
+        List<UserResponse> users = userRepository.findAllById(ids).stream()
+                .map(UserResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(users);
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.devbuild.userservice.kafka.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangedEvent {
+
+    private Long userId;
+
+    private String changeType; // PROFILE_UPDATED, ROLE_UPDATED, DEACTIVATED
+
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+
+    public static UserChangedEvent of(Long userId, String changeType) {
+        return UserChangedEvent.builder()
+                .userId(userId)
+                .changeType(changeType)
+                .build();
+    }
+}
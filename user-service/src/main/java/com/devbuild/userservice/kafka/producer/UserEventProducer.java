@@ -0,0 +1,48 @@
+package com.devbuild.userservice.kafka.producer;
+
+import com.devbuild.userservice.kafka.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventProducer {
+
+    private static final String TOPIC = "user-changed";
+
+    private final KafkaTemplate<String, UserChangedEvent> kafkaTemplate;
+
+    /**
+     * Publishes the event once the current transaction has committed, so that
+     * consumers evicting their cache never reload the previous profile.
+     */
+    public void sendUserChanged(UserChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(UserChangedEvent event) {
+        log.info("Sending user-changed event: userId={}, changeType={}",
+                event.getUserId(), event.getChangeType());
+
+        kafkaTemplate.send(TOPIC, String.valueOf(event.getUserId()), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to send user-changed event: userId={}", event.getUserId(), ex);
+                    }
+                });
+    }
+}
@@ -1,9 +1,7 @@
 package com.devbuild.userservice.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import com.devbuild.common.security.JwtTokenVerifier;
+import com.devbuild.common.security.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,17 +9,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
@@ -29,16 +23,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @PostConstruct
-    public void init() {
-        if (jwtSecret == null || jwtSecret.isEmpty()) {
-            throw new IllegalStateException("jwt.secret must be configured!");
-        }
-        logger.info("JWT Authentication Filter initialized successfully");
-    }
+    // Precomputed key/parser and verified-token cache; fails at startup if jwt.secret is missing
+    private final JwtTokenVerifier jwtTokenVerifier;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -65,33 +51,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            String token = authHeader.substring(7);
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            String email = claims.getSubject();
-            String role = claims.get("role", String.class);
+            VerifiedToken token = jwtTokenVerifier.verify(authHeader.substring(7));
+            String email = token.subject();
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Create authentication token with proper role prefix
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
-
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 email,
                                 null,
-                                Collections.singletonList(authority)
+                                token.authorities()
                         );
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                logger.debug("JWT validated for user: {} with role: {}", email, role);
+                logger.debug("JWT validated for user: {} with roles: {}", email, token.authorities());
             }
         } catch (Exception e) {
             logger.error("JWT validation failed: {}", e.getMessage());
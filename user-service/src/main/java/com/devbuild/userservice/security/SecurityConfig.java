@@ -47,6 +47,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/users/current").authenticated()
                         .requestMatchers("/api/users/{id}/role").hasRole("ADMIN")
                         .requestMatchers("/api/users/{id}/desactivate").hasRole("ADMIN")
+                        .requestMatchers("/api/users/batch").permitAll()
                         .requestMatchers("/api/users", "/api/users/{email}").hasAnyRole("ADMIN", "DIRECTEUR")
                         .requestMatchers("/api/users/validate-role/**").permitAll()
                         .requestMatchers("/api/users/id/**").permitAll()
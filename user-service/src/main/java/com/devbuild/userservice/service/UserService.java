@@ -3,6 +3,8 @@ package com.devbuild.userservice.service;
 
 import com.devbuild.userservice.entity.User;
 import com.devbuild.userservice.enums.Role;
+import com.devbuild.userservice.kafka.event.UserChangedEvent;
+import com.devbuild.userservice.kafka.producer.UserEventProducer;
 import com.devbuild.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserEventProducer userEventProducer;
 
     public User createUser(User user) {
         log.info("Creating a new account for: {}", user.getEmail());
@@ -69,7 +72,9 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User with id not found: " + id));
         user.setRole(newRole);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userEventProducer.sendUserChanged(UserChangedEvent.of(savedUser.getId(), "ROLE_UPDATED"));
+        return savedUser;
     }
 
 
@@ -81,6 +86,7 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User with id not found: " + id));
         user.setActive(false);
         userRepository.save(user);
+        userEventProducer.sendUserChanged(UserChangedEvent.of(id, "DEACTIVATED"));
    }
 
    public void updateLastLogin(String email){
@@ -99,7 +105,9 @@ public class UserService {
         existingUser.setNom(user.getNom());
         existingUser.setPrenom(user.getPrenom());
 
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        userEventProducer.sendUserChanged(UserChangedEvent.of(savedUser.getId(), "PROFILE_UPDATED"));
+        return savedUser;
     }
 
 }